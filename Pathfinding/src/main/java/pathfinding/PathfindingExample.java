@@ -29,6 +29,7 @@ public class PathfindingExample {
         var bidiAStar = new BidiBestFirstSearch<>(aStar::h);
         System.out.println(aStar.findShortestPath(0, EndCondition.endAt(1), graph));
         System.out.println(bidiAStar.findAnyPath(0, EndCondition.endAt(1), graph));
+        System.out.println(bidiAStar.findShortestPath(0, EndCondition.endAt(1), graph));
     }
 
     private static void bidiBefsIntBreaker4() {
@@ -42,6 +43,7 @@ public class PathfindingExample {
         var bidiAStar = new BidiBestFirstSearch<>(aStar::h);
         System.out.println(aStar.findShortestPath(0, EndCondition.endAt(3), graph));
         System.out.println(bidiAStar.findAnyPath(0, EndCondition.endAt(3), graph));
+        System.out.println(bidiAStar.findShortestPath(0, EndCondition.endAt(3), graph));
     }
 
     private static void bidiBefsIntBreaker() {
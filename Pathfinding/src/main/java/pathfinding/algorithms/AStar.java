@@ -1,10 +1,11 @@
 package pathfinding.algorithms;
 
-import lombok.RequiredArgsConstructor;
+import pathfinding.datastructures.AddressableHeap;
 import pathfinding.functions.Heuristic;
 import pathfinding.service.EndCondition;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the A* algorithm for finding the shortest path.
@@ -12,11 +13,23 @@ import java.util.Map;
  * @param <T> the type of the vertices in the graph
 
  */
-@RequiredArgsConstructor
 public class AStar<T> extends AbstractBestFirstSearch<T> {
 
     private final Heuristic<T> heuristic;
 
+    public AStar(Heuristic<T> heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * @param heuristic   the heuristic used to estimate the remaining distance
+     * @param openFactory creates the priority queue used as the open list
+     */
+    public AStar(Heuristic<T> heuristic, Supplier<? extends AddressableHeap<T>> openFactory) {
+        super(openFactory);
+        this.heuristic = heuristic;
+    }
+
     @Override
     public final double g(T vertex, Map<T, Double> distances) {
         return distances.getOrDefault(vertex, Double.POSITIVE_INFINITY);
@@ -1,32 +1,82 @@
 package pathfinding.algorithms;
 
-import lombok.Getter;
+import pathfinding.datastructures.AddressableHeap;
 import pathfinding.datastructures.FibonacciHeap;
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
 import pathfinding.service.PathTracer;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
 
 /**
  * Abstract class for best-first search algorithms.
+ * <p>
+ * The open list holds at most one entry per vertex.
+ * When a shorter distance to an open vertex is found,
+ * its entry is updated with a decrease-key operation
+ * instead of enqueueing the vertex again.
+ * <p>
+ * The open list can be any {@link AddressableHeap}, which is created
+ * by the given factory once per thread and cleared between searches.
+ * It defaults to a {@link FibonacciHeap}.
+ * <p>
+ * The state of all vertices is kept in a {@link SearchContext}, which is
+ * reset in constant time, so back-to-back searches don't pay for the size
+ * of the previous ones. Every thread has its own context, so one instance
+ * can run searches on many threads at once, and the methods of
+ * {@link BestFirstSearch} act on the search of the calling thread.
+ * The maps returned by {@link #getDistances()} and {@link #getPredecessors()}
+ * are read-only views of it, which are only valid until the thread
+ * starts its next search.
  *
  * @param <T> the type of the vertices in the graph
  */
-@Getter
 public abstract class AbstractBestFirstSearch<T>
         implements BestFirstSearch<T> {
 
-    private final Map<T, Double> distances = new HashMap<>();
-    private final Map<T, T> predecessors = new HashMap<>();
-    private final Set<T> closed = new HashSet<>();
-    private FibonacciHeap<T> open;
-    private T current;
+    private final ThreadLocal<SearchContext<T>> contexts;
+
+    protected AbstractBestFirstSearch() {
+        this(FibonacciHeap::new);
+    }
+
+    /**
+     * @param openFactory creates the open list of every thread's context,
+     *                    e.g. {@code BucketQueue::new} for unit-cost graphs
+     */
+    protected AbstractBestFirstSearch(Supplier<? extends AddressableHeap<T>> openFactory) {
+        Objects.requireNonNull(openFactory);
+        this.contexts = ThreadLocal.withInitial(() -> new SearchContext<>(openFactory));
+    }
+
+    @Override
+    public Map<T, Double> getDistances() {
+        return contexts.get().getDistances();
+    }
+
+    @Override
+    public Map<T, T> getPredecessors() {
+        return contexts.get().getPredecessors();
+    }
+
+    public Set<T> getClosed() {
+        return contexts.get().getClosed();
+    }
+
+    public AddressableHeap<T> getOpen() {
+        return contexts.get().getOpen();
+    }
+
+    @Override
+    public T getCurrent() {
+        return contexts.get().getCurrent();
+    }
 
     @Override
     public int getVisitedVertexCount() {
-        return closed.size();
+        return contexts.get().getVisitedVertexCount();
     }
 
     @Override
@@ -36,8 +86,10 @@ public abstract class AbstractBestFirstSearch<T>
         initializeDataStructures(start);
 
         while (nextUnvisited()) {
+            T current = getCurrent();
+
             if (endCondition.condition().test(current)) {
-                var pathTracer = new PathTracer<>(predecessors);
+                var pathTracer = new PathTracer<>(getPredecessors());
                 return pathTracer.unsafeTrace(start, current);
             }
 
@@ -50,67 +102,87 @@ public abstract class AbstractBestFirstSearch<T>
 
     @Override
     public boolean nextOpen() {
-        if (hasOpen()) {
-            current = open.dequeueMin().getValue();
-            return true;
+        var context = contexts.get();
+
+        if (context.getOpen().isEmpty()) {
+            context.setCurrent(null);
+            return false;
         }
 
-        current = null;
-        return false;
+        T current = context.getOpen().dequeueMin().getValue();
+        context.get(current).openEntry = null;
+        context.setCurrent(current);
+        return true;
     }
 
     @Override
     public void closeCurrent() {
-        closed.add(current);
+        var context = contexts.get();
+        context.close(context.get(context.getCurrent()));
     }
 
     @Override
     public boolean hasVisited(T vertex) {
-        return closed.contains(vertex);
+        var node = contexts.get().get(vertex);
+        return node != null && node.closed;
     }
 
     @Override
     public boolean hasOpen() {
-        return !open.isEmpty();
+        return !getOpen().isEmpty();
+    }
+
+    @Override
+    public int getOpenCount() {
+        return getOpen().size();
+    }
+
+    @Override
+    public double getMinOpenPriority() {
+        return (hasOpen()) ? getOpen().min().getPriority() : Double.POSITIVE_INFINITY;
     }
 
     @Override
     public void initializeDataStructures(T start) {
-        predecessors.clear();
-        distances.clear();
-        distances.put(start, 0.0);
-        closed.clear();
-        open = new FibonacciHeap<>();
-        open.enqueue(start, 0.0);
+        var context = contexts.get();
+        context.reset();
+        var node = context.reach(start);
+        node.distance = 0;
+        node.openEntry = context.getOpen().enqueue(start, 0.0);
     }
 
     @Override
-    public Map<T, Double> expand(EndCondition<T> endCondition,
-                                 Graph<T> graph) {
-        return graph.getNeighbors(current)
-                .entrySet()
-                .stream()
-                .filter(entry -> !hasVisited(entry.getKey()))
-                .filter(entry -> {
-                    T neighbor = entry.getKey();
-                    double weight = entry.getValue();
-                    double g = g(neighbor);
-                    double tentativeG = g(current) + weight;
-
-                    if (tentativeG < g) {
-                        distances.put(neighbor, tentativeG);
-                        predecessors.put(neighbor, current);
-                        double heuristic = h(neighbor, endCondition);
-                        open.enqueue(neighbor, tentativeG + heuristic);
-                        return true;
-                    }
-
-                    return false;
-                })
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue
-                ));
+    public void expand(EndCondition<T> endCondition,
+                       Graph<T> graph,
+                       ObjDoubleConsumer<T> improvementListener) {
+        var context = contexts.get();
+        var open = context.getOpen();
+        T current = context.getCurrent();
+        double currentG = g(current);
+
+        graph.forEachNeighbor(current, (neighbor, weight) -> {
+            var node = context.reach(neighbor);
+
+            if (node.closed) {
+                return;
+            }
+
+            double tentativeG = currentG + weight;
+
+            if (tentativeG < node.distance) {
+                node.distance = tentativeG;
+                node.predecessor = current;
+                double priority = tentativeG + h(neighbor, endCondition);
+
+                if (node.openEntry == null) {
+                    node.openEntry = open.enqueue(neighbor, priority);
+                } else {
+                    open.decreaseKey(node.openEntry, priority);
+                }
+
+                improvementListener.accept(neighbor, tentativeG);
+            }
+        });
     }
 
 }
@@ -0,0 +1,145 @@
+package pathfinding.algorithms;
+
+import pathfinding.datastructures.IntBinaryHeap;
+import pathfinding.functions.IntDoubleConsumer;
+import pathfinding.graphs.IntGraph;
+import pathfinding.service.IntEndCondition;
+
+import java.util.Arrays;
+
+/**
+ * Abstract class for primitive best-first search algorithms.
+ * The distances, predecessors and closed flags are stored in arrays
+ * indexed by the vertex ids, so no boxing or hashing happens
+ * during the search. Every thread has its own arrays,
+ * which are reused between its searches.
+ * <p>
+ * Instead of refilling the arrays, every search increments a generation,
+ * and a vertex counts as unreached unless its stamp equals the generation,
+ * so a search only pays for the vertices it touches itself.
+ */
+public abstract class AbstractIntBestFirstSearch
+        implements IntPathfindingAlgorithm {
+
+    private static final int[] NO_PATH = {};
+
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * @param vertex       the id of the vertex to be estimated
+     * @param endCondition the end condition of the current search
+     * @return the estimated cost from the vertex to the end
+     */
+    public abstract double h(int vertex, IntEndCondition endCondition);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return searches.get().visitedVertexCount;
+    }
+
+    @Override
+    public int[] findShortestPath(int start,
+                                  IntEndCondition endCondition,
+                                  IntGraph graph) {
+        return searches.get().findShortestPath(start, endCondition, graph);
+    }
+
+    /**
+     * The state of the searches of one thread, whose arrays are reused.
+     */
+    private final class Search {
+
+        private final IntBinaryHeap open = new IntBinaryHeap(0);
+        private final IntDoubleConsumer relaxation = this::relax;
+        private double[] distances = {};
+        private int[] predecessors = {};
+        // a closed vertex is stamped with the negated generation
+        private int[] stamps = {};
+        private int generation;
+        private IntEndCondition endCondition;
+        private int current;
+
+        private int visitedVertexCount;
+
+        private int[] findShortestPath(int start,
+                                       IntEndCondition endCondition,
+                                       IntGraph graph) {
+            initializeDataStructures(start, endCondition, graph.getVertexCount());
+
+            while (!open.isEmpty()) {
+                current = open.dequeueMin();
+
+                if (endCondition.condition().test(current)) {
+                    return IntPathTracer.trace(predecessors, start, current);
+                }
+
+                stamps[current] = -generation;
+                visitedVertexCount++;
+                graph.forEachNeighborId(current, relaxation);
+            }
+
+            return NO_PATH;
+        }
+
+        private void initializeDataStructures(int start,
+                                              IntEndCondition endCondition,
+                                              int vertexCount) {
+            if (distances.length != vertexCount) {
+                distances = new double[vertexCount];
+                predecessors = new int[vertexCount];
+                stamps = new int[vertexCount];
+                generation = 0;
+                open.ensureCapacity(vertexCount);
+            }
+
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                generation = 0;
+            }
+
+            generation++;
+            open.clear();
+            visitedVertexCount = 0;
+            this.endCondition = endCondition;
+            stamps[start] = generation;
+            distances[start] = 0;
+            predecessors[start] = start;
+            open.enqueue(start, h(start, endCondition));
+        }
+
+        private void relax(int neighbor, double weight) {
+            if (neighbor >= stamps.length) {
+                grow(neighbor + 1);
+            }
+
+            int stamp = stamps[neighbor];
+
+            if (stamp == -generation) {
+                return;
+            }
+
+            double tentativeG = distances[current] + weight;
+            double oldG = (stamp == generation) ? distances[neighbor] : Double.POSITIVE_INFINITY;
+
+            if (tentativeG < oldG) {
+                stamps[neighbor] = generation;
+                distances[neighbor] = tentativeG;
+                predecessors[neighbor] = current;
+                open.enqueue(neighbor, tentativeG + h(neighbor, endCondition));
+            }
+        }
+
+        /**
+         * Makes room for the ids of a graph whose vertex count grows while it is searched.
+         */
+        private void grow(int minLength) {
+            int length = Math.max(minLength, 2 * stamps.length);
+            distances = Arrays.copyOf(distances, length);
+            predecessors = Arrays.copyOf(predecessors, length);
+            stamps = Arrays.copyOf(stamps, length);
+            open.ensureCapacity(length);
+        }
+
+    }
+
+}
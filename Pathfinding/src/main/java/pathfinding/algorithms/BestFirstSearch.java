@@ -3,12 +3,16 @@ package pathfinding.algorithms;
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
 
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Interface for best-first search algorithms.
+ * <p>
+ * Besides running whole searches, it allows to drive a search step by step,
+ * e.g. two of them from a bidirectional search. These methods act on the
+ * search of the calling thread, so each step must run on the thread
+ * that has initialized the search.
  *
  * @param <T> the type of the vertices in the graph
  */
@@ -28,9 +32,29 @@ public interface BestFirstSearch<T> extends PathfindingAlgorithm<T> {
 
     boolean hasOpen();
 
+    /**
+     * @return the number of vertices in the open list
+     */
+    int getOpenCount();
+
+    /**
+     * @return the lowest priority (f-value) in the open list,
+     * or {@link Double#POSITIVE_INFINITY} if it is empty
+     */
+    double getMinOpenPriority();
+
     void initializeDataStructures(T start);
 
-    Map<T, Double> expand(EndCondition<T> endCondition, Graph<T> graph);
+    /**
+     * Same as {@link #expand(EndCondition, Graph)}, but the listener is called
+     * with every neighbor whose distance has been improved and its new distance.
+     */
+    void expand(EndCondition<T> endCondition, Graph<T> graph, ObjDoubleConsumer<T> improvementListener);
+
+    default void expand(EndCondition<T> endCondition, Graph<T> graph) {
+        expand(endCondition, graph, (_, _) -> {
+        });
+    }
 
     double g(T vertex, Map<T, Double> distances);
 
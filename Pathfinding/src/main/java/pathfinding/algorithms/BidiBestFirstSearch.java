@@ -14,7 +14,14 @@ import java.util.Objects;
  * It uses two instances of any best-first search
  * algorithms to search from both ends.
  * The two algorithms can even be different.
- * The search stops when the two searches <b>meet in the middle</b>.
+ * {@link #findAnyPath} stops as soon as the two searches <b>meet in the middle</b>,
+ * which is fast, but the path is not necessarily the shortest one.
+ * {@link #findShortestPath} keeps track of the shortest path found so far
+ * and only stops once neither search can find a shorter one,
+ * so the path is exact as long as the heuristics are consistent.
+ * <p>
+ * The backward search follows the edges in the opposite direction,
+ * so the graph has to be undirected.
  * <p>
  * <i>Bidi</i> stands for bidirectional and is
  * abbreviated to avoid line breaks in the code.
@@ -23,7 +30,7 @@ import java.util.Objects;
  */
 public record BidiBestFirstSearch<T>(BestFirstSearch<T> forwardSearch,
                                      BestFirstSearch<T> backwardSearch)
-        implements SearchAlgorithm<T> {
+        implements PathfindingAlgorithm<T> {
 
     public BidiBestFirstSearch {
         if (Objects.requireNonNull(forwardSearch) == Objects.requireNonNull(backwardSearch)) {
@@ -80,6 +87,77 @@ public record BidiBestFirstSearch<T>(BestFirstSearch<T> forwardSearch,
         return Collections.emptyList();
     }
 
+    /**
+     * Expands the side with fewer open vertices, tracking the length μ of the
+     * shortest path found so far through every vertex reached from both sides.
+     * Stops once the lowest f-value of one of the sides is at least μ,
+     * because every path that side could still find is at least as long.
+     */
+    @Override
+    public List<T> findShortestPath(T start,
+                                    EndCondition<T> forwardEndCondition,
+                                    Graph<T> graph) {
+        T end = forwardEndCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a vertex."
+                ));
+
+        var backwardEndCondition = EndCondition.endAt(start);
+        forwardSearch.initializeDataStructures(start);
+        backwardSearch.initializeDataStructures(end);
+
+        var meeting = new Meeting<T>();
+        meeting.update(start, 0, backwardSearch.g(start));
+
+        while (forwardSearch.hasOpen() && backwardSearch.hasOpen()) {
+            double lowerBound = Math.max(
+                    forwardSearch.getMinOpenPriority(),
+                    backwardSearch.getMinOpenPriority()
+            );
+
+            if (lowerBound >= meeting.length) {
+                break;
+            }
+
+            boolean isForward = forwardSearch.getOpenCount() <= backwardSearch.getOpenCount();
+            var search = (isForward) ? forwardSearch : backwardSearch;
+            var oppositeSearch = (isForward) ? backwardSearch : forwardSearch;
+
+            if (!search.nextUnvisited()) {
+                break;
+            }
+
+            search.closeCurrent();
+
+            search.expand(
+                    (isForward) ? forwardEndCondition : backwardEndCondition,
+                    graph,
+                    (neighbor, g) -> meeting.update(neighbor, g, oppositeSearch.g(neighbor))
+            );
+        }
+
+        return (meeting.vertex == null)
+                ? Collections.emptyList()
+                : mergePaths(start, meeting.vertex, end);
+    }
+
+    /**
+     * The vertex on the shortest path found so far and the length μ of that path.
+     */
+    private static final class Meeting<T> {
+
+        private T vertex;
+        private double length = Double.POSITIVE_INFINITY;
+
+        private void update(T candidate, double g, double oppositeG) {
+            if (g + oppositeG < length) {
+                vertex = candidate;
+                length = g + oppositeG;
+            }
+        }
+
+    }
+
     private boolean nextUnvisited() {
         return forwardSearch.nextUnvisited()
                 && backwardSearch.nextUnvisited();
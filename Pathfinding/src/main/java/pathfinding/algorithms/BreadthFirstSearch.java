@@ -1,6 +1,5 @@
 package pathfinding.algorithms;
 
-import lombok.Getter;
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
 import pathfinding.service.PathTracer;
@@ -9,43 +8,46 @@ import java.util.*;
 
 /**
  * Iterative implementation of the Breadth-First Search algorithm.
+ * <p>
+ * The discovered vertices, their predecessors and the queue are kept
+ * in a {@link SearchContext} per thread, which is reused by every search.
  *
  * @param <T> the type of the nodes in the graph to be searched
  */
-@Getter
 public class BreadthFirstSearch<T> implements PathfindingAlgorithm<T> {
 
-    private int visitedVertexCount;
+    private final ThreadLocal<SearchContext<T>> contexts = ThreadLocal.withInitial(SearchContext::new);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return contexts.get().getVisitedVertexCount();
+    }
 
     @Override
     public List<T> findShortestPath(T start,
                                     EndCondition<T> endCondition,
                                     Graph<T> graph) {
-        var queue = new ArrayDeque<T>();
-        var visited = new ArrayList<T>();
-        var predecessors = new HashMap<T, T>();
+        var context = contexts.get();
+        var queue = context.getFrontier();
+        context.reset();
+        context.reach(start);
         queue.add(start);
-        visitedVertexCount = 0;
 
         while (!queue.isEmpty()) {
             T current = queue.poll();
-            visited.add(current);
-            visitedVertexCount++;
+            context.countVisit();
 
             if (endCondition.condition().test(current)) {
-                var pathTracer = new PathTracer<>(predecessors);
+                var pathTracer = new PathTracer<>(context.getPredecessors());
                 return pathTracer.unsafeTrace(start, current);
             }
 
-            graph.getNeighbors(current)
-                    .keySet()
-                    .stream()
-                    .filter(neighbor -> !visited.contains(neighbor))
-                    .filter(neighbor -> !queue.contains(neighbor))
-                    .forEach(neighbor -> {
-                        queue.offer(neighbor);
-                        predecessors.put(neighbor, current);
-                    });
+            graph.forEachNeighbor(current, (neighbor, _) -> {
+                if (context.get(neighbor) == null) {
+                    queue.offer(neighbor);
+                    context.reach(neighbor).predecessor = current;
+                }
+            });
         }
 
         return Collections.emptyList();
@@ -0,0 +1,602 @@
+package pathfinding.algorithms;
+
+import pathfinding.datastructures.IntBinaryHeap;
+import pathfinding.graphs.CompressedGraph;
+import pathfinding.graphs.Graph;
+import pathfinding.graphs.ModifiableGraph;
+import pathfinding.service.EndCondition;
+
+import java.util.*;
+
+/**
+ * Contraction Hierarchies (CH) for exact shortest paths on static graphs.
+ * <p>
+ * The preprocessing contracts the vertices one by one in the order of their
+ * importance, which is estimated lazily by the edge difference and the number
+ * of already contracted neighbors. Whenever a contracted vertex lies on the only
+ * shortest path between two of its neighbors, a shortcut edge is inserted,
+ * so the distances between the remaining vertices are preserved.
+ * <p>
+ * A query runs a bidirectional Dijkstra that only follows edges to more
+ * important vertices, which settles a tiny fraction of the graph.
+ * The shortcuts of the resulting path are then unpacked recursively.
+ * The hierarchy is immutable after the preprocessing, and every thread
+ * gets its own query arrays, so it can be queried by many threads at once.
+ * <p>
+ * The graph passed to {@link #findShortestPath} is ignored,
+ * the hierarchy always answers for the graph it was built from.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class ContractionHierarchy<T> implements PathfindingAlgorithm<T> {
+
+    /**
+     * The maximum number of vertices settled by a witness search.
+     * If no witness is found within the limit, the shortcut is added
+     * anyway, which is always correct, just a bit wasteful.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private static final int NONE = -1;
+
+    private final CompressedGraph<T> graph;
+    private final int shortcutCount;
+
+    // upward edges from each vertex, and upward edges into each vertex (reversed)
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final double[] forwardWeights;
+    private final int[] backwardOffsets;
+    private final int[] backwardTargets;
+    private final double[] backwardWeights;
+
+    /**
+     * The contracted vertex of every shortcut, keyed by {@link #key(int, int)}.
+     */
+    private final Map<Long, Integer> middles;
+
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+
+    private ContractionHierarchy(CompressedGraph<T> graph, Preprocessor preprocessor) {
+        this.graph = graph;
+        this.shortcutCount = preprocessor.shortcutCount;
+        this.middles = preprocessor.middles;
+
+        int vertexCount = graph.getVertexCount();
+        this.forwardOffsets = new int[vertexCount + 1];
+        this.backwardOffsets = new int[vertexCount + 1];
+        var rank = preprocessor.rank;
+
+        for (int u = 0; u < vertexCount; u++) {
+            forwardOffsets[u + 1] = forwardOffsets[u] + preprocessor.outEdges[u].countUpward(u, rank);
+            backwardOffsets[u + 1] = backwardOffsets[u] + preprocessor.inEdges[u].countUpward(u, rank);
+        }
+
+        this.forwardTargets = new int[forwardOffsets[vertexCount]];
+        this.forwardWeights = new double[forwardOffsets[vertexCount]];
+        this.backwardTargets = new int[backwardOffsets[vertexCount]];
+        this.backwardWeights = new double[backwardOffsets[vertexCount]];
+
+        for (int u = 0; u < vertexCount; u++) {
+            preprocessor.outEdges[u].copyUpward(u, rank, forwardTargets, forwardWeights, forwardOffsets[u]);
+            preprocessor.inEdges[u].copyUpward(u, rank, backwardTargets, backwardWeights, backwardOffsets[u]);
+        }
+    }
+
+    /**
+     * Builds the hierarchy of a snapshot of the given graph.
+     * This can take minutes for graphs with millions of vertices.
+     */
+    public static <T> ContractionHierarchy<T> of(ModifiableGraph<T> graph) {
+        return of(graph.freeze());
+    }
+
+    /**
+     * Builds the hierarchy of the given graph.
+     * This can take minutes for graphs with millions of vertices.
+     */
+    public static <T> ContractionHierarchy<T> of(CompressedGraph<T> graph) {
+        var preprocessor = new Preprocessor(graph);
+        preprocessor.contractAll();
+        return new ContractionHierarchy<>(graph, preprocessor);
+    }
+
+    /**
+     * @return the number of shortcut edges inserted by the preprocessing
+     */
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    @Override
+    public int getVisitedVertexCount() {
+        return queries.get().visitedVertexCount;
+    }
+
+    @Override
+    public List<T> findShortestPath(T start,
+                                    EndCondition<T> endCondition,
+                                    Graph<T> graph) {
+        T end = endCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a vertex."
+                ));
+
+        int source = this.graph.indexOf(start);
+        int target = this.graph.indexOf(end);
+
+        if (source == NONE || target == NONE) {
+            return Collections.emptyList();
+        }
+
+        var query = queries.get();
+        int meeting = query.findMeetingVertex(source, target);
+
+        if (meeting == NONE) {
+            return Collections.emptyList();
+        }
+
+        var ids = new ArrayList<Integer>();
+        ids.add(source);
+
+        var forwardPath = query.forward.tracePath(meeting);
+        for (int i = forwardPath.size() - 1; i > 0; i--) {
+            unpack(forwardPath.get(i), forwardPath.get(i - 1), ids);
+        }
+
+        var backwardPath = query.backward.tracePath(meeting);
+        for (int i = 0; i < backwardPath.size() - 1; i++) {
+            unpack(backwardPath.get(i), backwardPath.get(i + 1), ids);
+        }
+
+        return ids.stream()
+                .map(this.graph::vertexAt)
+                .toList();
+    }
+
+    /**
+     * Appends the vertices of the (possibly shortcut) edge
+     * after its source to the path, unpacking shortcuts iteratively.
+     */
+    private void unpack(int source, int destination, List<Integer> path) {
+        var stack = new ArrayDeque<long[]>();
+        stack.push(new long[]{source, destination});
+
+        while (!stack.isEmpty()) {
+            var edge = stack.pop();
+            int from = (int) edge[0];
+            int to = (int) edge[1];
+            var middle = middles.get(key(from, to));
+
+            if (middle == null) {
+                path.add(to);
+            } else {
+                stack.push(new long[]{middle, to});
+                stack.push(new long[]{from, middle});
+            }
+        }
+    }
+
+    private static long key(int source, int destination) {
+        return (long) source << 32 | (destination & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The state of the queries of one thread, whose arrays are reused.
+     */
+    private final class Query {
+
+        private final Side forward;
+        private final Side backward;
+        private int visitedVertexCount;
+
+        private Query() {
+            int vertexCount = graph.getVertexCount();
+            this.forward = new Side(vertexCount, forwardOffsets, forwardTargets, forwardWeights);
+            this.backward = new Side(vertexCount, backwardOffsets, backwardTargets, backwardWeights);
+        }
+
+        /**
+         * Runs the upward searches from both ends until neither
+         * can find a shorter connection than the best one so far.
+         *
+         * @return the vertex on the shortest path where both searches meet,
+         * or {@link #NONE} if the target is unreachable
+         */
+        private int findMeetingVertex(int source, int target) {
+            forward.initialize(source);
+            backward.initialize(target);
+            double bestLength = (source == target) ? 0 : Double.POSITIVE_INFINITY;
+            int meeting = (source == target) ? source : NONE;
+
+            while (true) {
+                boolean canForward = forward.canImprove(bestLength);
+                boolean canBackward = backward.canImprove(bestLength);
+
+                if (!canForward && !canBackward) {
+                    break;
+                }
+
+                var side = (canForward && (!canBackward || forward.minDistance() <= backward.minDistance()))
+                        ? forward
+                        : backward;
+
+                var opposite = (side == forward) ? backward : forward;
+                int vertex = side.settleNext();
+
+                if (opposite.hasReached(vertex)) {
+                    double length = side.distanceTo(vertex) + opposite.distanceTo(vertex);
+
+                    if (length < bestLength) {
+                        bestLength = length;
+                        meeting = vertex;
+                    }
+                }
+            }
+
+            visitedVertexCount = forward.settledCount + backward.settledCount;
+            return meeting;
+        }
+
+    }
+
+    /**
+     * The state of one direction of a query.
+     * The arrays are reused, so only the touched vertices are reset.
+     */
+    private static final class Side {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+        private final double[] distances;
+        private final int[] parents;
+        private final int[] stamps;
+        private final IntBinaryHeap open;
+        private int stamp;
+        private int settledCount;
+
+        private Side(int vertexCount, int[] offsets, int[] targets, double[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.distances = new double[vertexCount];
+            this.parents = new int[vertexCount];
+            this.stamps = new int[vertexCount];
+            this.open = new IntBinaryHeap(vertexCount);
+        }
+
+        private void initialize(int origin) {
+            open.clear();
+            stamp++;
+            settledCount = 0;
+            reach(origin, 0, NONE);
+            open.enqueue(origin, 0);
+        }
+
+        private boolean canImprove(double bestLength) {
+            return !open.isEmpty() && open.minPriority() < bestLength;
+        }
+
+        private double minDistance() {
+            return open.minPriority();
+        }
+
+        private boolean hasReached(int vertex) {
+            return stamps[vertex] == stamp;
+        }
+
+        private double distanceTo(int vertex) {
+            return (hasReached(vertex)) ? distances[vertex] : Double.POSITIVE_INFINITY;
+        }
+
+        private void reach(int vertex, double distance, int parent) {
+            stamps[vertex] = stamp;
+            distances[vertex] = distance;
+            parents[vertex] = parent;
+        }
+
+        /**
+         * Settles the closest open vertex and relaxes its upward edges.
+         *
+         * @return the settled vertex
+         */
+        private int settleNext() {
+            int vertex = open.dequeueMin();
+            double distance = distances[vertex];
+            settledCount++;
+
+            for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+                int target = targets[edge];
+                double tentative = distance + weights[edge];
+
+                if (tentative < distanceTo(target)) {
+                    reach(target, tentative, vertex);
+                    open.enqueue(target, tentative);
+                }
+            }
+
+            return vertex;
+        }
+
+        /**
+         * @return the vertices from the given one back to the origin
+         */
+        private List<Integer> tracePath(int vertex) {
+            var path = new ArrayList<Integer>();
+
+            for (int current = vertex; current != NONE; current = parents[current]) {
+                path.add(current);
+            }
+
+            return path;
+        }
+
+    }
+
+    /**
+     * The mutable adjacency of a vertex during the preprocessing.
+     * Parallel edges are merged by keeping the lowest weight.
+     */
+    private static final class EdgeList {
+
+        private int[] targets = new int[4];
+        private double[] weights = new double[4];
+        private int size;
+
+        /**
+         * @return whether the edge has been added or its weight lowered
+         */
+        private boolean add(int target, double weight) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        return true;
+                    }
+
+                    return false;
+                }
+            }
+
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+
+            targets[size] = target;
+            weights[size++] = weight;
+            return true;
+        }
+
+        private int countUpward(int vertex, int[] rank) {
+            int count = 0;
+
+            for (int i = 0; i < size; i++) {
+                if (rank[targets[i]] > rank[vertex]) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        private void copyUpward(int vertex, int[] rank, int[] upTargets, double[] upWeights, int start) {
+            for (int i = 0; i < size; i++) {
+                if (rank[targets[i]] > rank[vertex]) {
+                    upTargets[start] = targets[i];
+                    upWeights[start++] = weights[i];
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Contracts all vertices and records their rank in the hierarchy.
+     */
+    private static final class Preprocessor {
+
+        private final int vertexCount;
+        private final EdgeList[] outEdges;
+        private final EdgeList[] inEdges;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] rank;
+        private final Map<Long, Integer> middles = new HashMap<>();
+        private int shortcutCount;
+
+        // the state of the witness searches
+        private final double[] distances;
+        private final int[] stamps;
+        private final IntBinaryHeap open;
+        private int stamp;
+
+        private Preprocessor(CompressedGraph<?> graph) {
+            vertexCount = graph.getVertexCount();
+            outEdges = new EdgeList[vertexCount];
+            inEdges = new EdgeList[vertexCount];
+            contracted = new boolean[vertexCount];
+            contractedNeighbors = new int[vertexCount];
+            rank = new int[vertexCount];
+            distances = new double[vertexCount];
+            stamps = new int[vertexCount];
+            open = new IntBinaryHeap(vertexCount);
+
+            for (int id = 0; id < vertexCount; id++) {
+                outEdges[id] = new EdgeList();
+                inEdges[id] = new EdgeList();
+            }
+
+            for (int source = 0; source < vertexCount; source++) {
+                for (int edge = graph.getEdgeStart(source); edge < graph.getEdgeEnd(source); edge++) {
+                    int destination = graph.getEdgeTarget(edge);
+
+                    if (destination != source) {
+                        outEdges[source].add(destination, graph.getEdgeWeight(edge));
+                        inEdges[destination].add(source, graph.getEdgeWeight(edge));
+                    }
+                }
+            }
+        }
+
+        private void contractAll() {
+            var queue = new PriorityQueue<long[]>(Comparator.comparingLong(entry -> entry[0]));
+
+            for (int id = 0; id < vertexCount; id++) {
+                queue.add(new long[]{calculatePriority(id), id});
+            }
+
+            int nextRank = 0;
+
+            while (!queue.isEmpty()) {
+                int vertex = (int) queue.poll()[1];
+                long priority = calculatePriority(vertex);
+
+                // lazy update: the priority might have grown since it was enqueued
+                if (!queue.isEmpty() && priority > queue.peek()[0]) {
+                    queue.add(new long[]{priority, vertex});
+                    continue;
+                }
+
+                contract(vertex, false);
+                contracted[vertex] = true;
+                rank[vertex] = nextRank++;
+                notifyNeighbors(vertex);
+            }
+        }
+
+        private void notifyNeighbors(int vertex) {
+            var out = outEdges[vertex];
+            var in = inEdges[vertex];
+
+            for (int i = 0; i < out.size; i++) {
+                contractedNeighbors[out.targets[i]]++;
+            }
+
+            for (int i = 0; i < in.size; i++) {
+                contractedNeighbors[in.targets[i]]++;
+            }
+        }
+
+        /**
+         * The edge difference, with the added shortcuts counted twice, plus the
+         * number of contracted neighbors, which keeps the hierarchy flat
+         * and spreads the contraction uniformly over the graph.
+         */
+        private long calculatePriority(int vertex) {
+            int shortcuts = contract(vertex, true);
+            int removedEdges = countRemaining(outEdges[vertex]) + countRemaining(inEdges[vertex]);
+            return 2L * shortcuts - removedEdges + contractedNeighbors[vertex];
+        }
+
+        private int countRemaining(EdgeList edges) {
+            int count = 0;
+
+            for (int i = 0; i < edges.size; i++) {
+                if (!contracted[edges.targets[i]]) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * Adds a shortcut for every pair of remaining neighbors
+         * whose only shortest path leads through the vertex.
+         *
+         * @param simulate whether the shortcuts should only be counted
+         * @return the number of (simulated) shortcuts
+         */
+        private int contract(int vertex, boolean simulate) {
+            var in = inEdges[vertex];
+            var out = outEdges[vertex];
+            int shortcuts = 0;
+
+            for (int i = 0; i < in.size; i++) {
+                int source = in.targets[i];
+
+                if (contracted[source]) {
+                    continue;
+                }
+
+                double maxLength = 0;
+
+                for (int j = 0; j < out.size; j++) {
+                    if (!contracted[out.targets[j]] && out.targets[j] != source) {
+                        maxLength = Math.max(maxLength, in.weights[i] + out.weights[j]);
+                    }
+                }
+
+                searchWitnesses(source, vertex, maxLength);
+
+                for (int j = 0; j < out.size; j++) {
+                    int destination = out.targets[j];
+                    double length = in.weights[i] + out.weights[j];
+
+                    if (contracted[destination] || destination == source || witnessDistance(destination) <= length) {
+                        continue;
+                    }
+
+                    shortcuts++;
+
+                    if (!simulate) {
+                        addShortcut(source, destination, length, vertex);
+                    }
+                }
+            }
+
+            return shortcuts;
+        }
+
+        private void addShortcut(int source, int destination, double length, int middle) {
+            if (outEdges[source].add(destination, length)) {
+                inEdges[destination].add(source, length);
+                middles.put(key(source, destination), middle);
+                shortcutCount++;
+            }
+        }
+
+        /**
+         * A local Dijkstra from the source that avoids the ignored vertex and
+         * all contracted ones, bounded by the distance and the settle limit.
+         */
+        private void searchWitnesses(int source, int ignored, double maxDistance) {
+            open.clear();
+            stamp++;
+            stamps[source] = stamp;
+            distances[source] = 0;
+            open.enqueue(source, 0);
+            int settled = 0;
+
+            while (!open.isEmpty() && open.minPriority() <= maxDistance && settled < WITNESS_SETTLE_LIMIT) {
+                int vertex = open.dequeueMin();
+                var edges = outEdges[vertex];
+                settled++;
+
+                for (int i = 0; i < edges.size; i++) {
+                    int target = edges.targets[i];
+
+                    if (target == ignored || contracted[target]) {
+                        continue;
+                    }
+
+                    double tentative = distances[vertex] + edges.weights[i];
+
+                    if (tentative < witnessDistance(target)) {
+                        stamps[target] = stamp;
+                        distances[target] = tentative;
+                        open.enqueue(target, tentative);
+                    }
+                }
+            }
+        }
+
+        private double witnessDistance(int vertex) {
+            return (stamps[vertex] == stamp) ? distances[vertex] : Double.POSITIVE_INFINITY;
+        }
+
+    }
+
+}
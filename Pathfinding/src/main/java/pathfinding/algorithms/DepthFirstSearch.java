@@ -1,6 +1,5 @@
 package pathfinding.algorithms;
 
-import lombok.Getter;
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
 import pathfinding.service.PathTracer;
@@ -16,43 +15,46 @@ import java.util.*;
  * but it is also much more performance and memory efficient for
  * large graphs. It does not suffer from stack overflow errors,
  * unlike the recursive implementation.
+ * <p>
+ * {@link #findAnyPath} keeps the discovered vertices, their predecessors and
+ * the stack in a {@link SearchContext} per thread, which is reused by every search.
  *
  * @param <T> the type of the nodes in the graph to be searched
  */
-@Getter
 public class DepthFirstSearch<T> implements PathfindingAlgorithm<T> {
 
-    private int visitedVertexCount;
+    private final ThreadLocal<SearchContext<T>> contexts = ThreadLocal.withInitial(SearchContext::new);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return contexts.get().getVisitedVertexCount();
+    }
 
     @Override
     public List<T> findAnyPath(T start,
                                EndCondition<T> endCondition,
                                Graph<T> graph) {
-        var predecessors = new HashMap<T, T>();
-        var stack = new ArrayDeque<T>();
-        var visited = new ArrayList<T>();
+        var context = contexts.get();
+        var stack = context.getFrontier();
+        context.reset();
+        context.reach(start);
         stack.push(start);
-        visitedVertexCount = 0;
 
         while (!stack.isEmpty()) {
             T current = stack.pop();
-            visited.add(current);
-            visitedVertexCount++;
+            context.countVisit();
 
             if (endCondition.condition().test(current)) {
-                var pathTracer = new PathTracer<>(predecessors);
+                var pathTracer = new PathTracer<>(context.getPredecessors());
                 return pathTracer.unsafeTrace(start, current);
             }
 
-            graph.getNeighbors(current)
-                    .keySet()
-                    .stream()
-                    .filter(neighbor -> !visited.contains(neighbor))
-                    .filter(neighbor -> !stack.contains(neighbor))
-                    .forEach(neighbor -> {
-                        stack.push(neighbor);
-                        predecessors.put(neighbor, current);
-                    });
+            graph.forEachNeighbor(current, (neighbor, _) -> {
+                if (context.get(neighbor) == null) {
+                    stack.push(neighbor);
+                    context.reach(neighbor).predecessor = current;
+                }
+            });
         }
 
         return Collections.emptyList();
@@ -62,32 +64,30 @@ public class DepthFirstSearch<T> implements PathfindingAlgorithm<T> {
     public List<T> findShortestPath(T start,
                                     EndCondition<T> endCondition,
                                     Graph<T> graph) {
+        var context = contexts.get();
         var predecessors = new HashMap<T, T>();
         var stack = new ArrayDeque<T>();
         var paths = new ArrayList<List<T>>();
         var pathTracer = new PathTracer<>(predecessors);
+        context.reset();
         stack.push(start);
-        visitedVertexCount = 0;
 
         while (!stack.isEmpty()) {
             T current = stack.pop();
             var path = pathTracer.unsafeTrace(start, current);
-            visitedVertexCount++;
+            context.countVisit();
 
             if (endCondition.condition().test(current)) {
                 paths.add(path);
                 continue;
             }
 
-            graph.getNeighbors(current)
-                    .keySet()
-                    .stream()
-                    .filter(neighbor -> !path.contains(neighbor))
-                    .filter(neighbor -> !stack.contains(neighbor))
-                    .forEach(neighbor -> {
-                        stack.push(neighbor);
-                        predecessors.put(neighbor, current);
-                    });
+            graph.forEachNeighbor(current, (neighbor, _) -> {
+                if (!path.contains(neighbor) && !stack.contains(neighbor)) {
+                    stack.push(neighbor);
+                    predecessors.put(neighbor, current);
+                }
+            });
         }
 
         return paths.stream()
@@ -1,8 +1,10 @@
 package pathfinding.algorithms;
 
+import pathfinding.datastructures.AddressableHeap;
 import pathfinding.service.EndCondition;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the Dijkstra algorithm for finding the shortest path.
@@ -11,6 +13,16 @@ import java.util.Map;
  */
 public class Dijkstra<T> extends AbstractBestFirstSearch<T> {
 
+    public Dijkstra() {
+    }
+
+    /**
+     * @param openFactory creates the priority queue used as the open list
+     */
+    public Dijkstra(Supplier<? extends AddressableHeap<T>> openFactory) {
+        super(openFactory);
+    }
+
     @Override
     public double g(T vertex, Map<T, Double> distances) {
         return distances.getOrDefault(vertex, Double.POSITIVE_INFINITY);
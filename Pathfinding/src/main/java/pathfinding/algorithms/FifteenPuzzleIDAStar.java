@@ -0,0 +1,262 @@
+package pathfinding.algorithms;
+
+import pathfinding.games.FifteenPuzzle;
+import pathfinding.games.FifteenPuzzleBoard;
+import pathfinding.graphs.Graph;
+import pathfinding.service.EndCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Iterative deepening A* (IDA*) for the 15 puzzle of any size.
+ * <p>
+ * It runs depth-first searches bounded by the f-value with the
+ * Manhattan distance as the heuristic, raising the bound to the lowest
+ * f-value that exceeded it, until the desired puzzle is reached.
+ * The search mutates a single flat copy of the board in place
+ * and undoes every move when backtracking, so it neither allocates
+ * boards nor keeps a closed set. Its memory is linear in the
+ * length of the solution, and the heuristic is updated incrementally.
+ * <p>
+ * The graph is not used, the moves are generated directly,
+ * which is why the end condition must specify the desired puzzle.
+ */
+public class FifteenPuzzleIDAStar implements PathfindingAlgorithm<FifteenPuzzle> {
+
+    private static final int FOUND = -1;
+
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * @return the number of nodes expanded during the last search of the
+     * calling thread, which might exceed {@link #getVisitedVertexCount()}
+     */
+    public long getExpandedNodeCount() {
+        return searches.get().expandedNodeCount;
+    }
+
+    @Override
+    public int getVisitedVertexCount() {
+        return (int) Math.min(getExpandedNodeCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<FifteenPuzzle> findShortestPath(FifteenPuzzle start,
+                                                EndCondition<FifteenPuzzle> endCondition,
+                                                Graph<FifteenPuzzle> graph) {
+        var desired = endCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a puzzle."
+                ));
+
+        if (desired.board().getLength() != start.board().getLength()) {
+            throw new IllegalArgumentException("The puzzles must have the same size.");
+        }
+
+        return searches.get().findShortestPath(start, desired);
+    }
+
+    /**
+     * The state of the searches of one thread.
+     */
+    private static final class Search {
+
+        private long expandedNodeCount;
+
+        private int length;
+        private int area;
+        private int[] tiles;
+        private int[] desiredIndices;
+        private int[] costs;
+        private int[][] adjacentIndices;
+        private int heuristic;
+
+        /**
+         * The index of the empty tile at every depth of the current path.
+         */
+        private int[] emptyIndices;
+        private int solutionLength;
+
+        private List<FifteenPuzzle> findShortestPath(FifteenPuzzle start, FifteenPuzzle desired) {
+            initialize(start.board(), desired.board());
+            expandedNodeCount = 0;
+
+            if (!isSolvable()) {
+                return Collections.emptyList();
+            }
+
+            int bound = heuristic;
+
+            while (true) {
+                // the depth can't exceed the bound, as every move costs 1
+                int firstEmptyIndex = emptyIndices[0];
+                emptyIndices = new int[bound + 1];
+                emptyIndices[0] = firstEmptyIndex;
+                int result = search(0, bound);
+
+                if (result == FOUND) {
+                    return tracePath(start);
+                }
+
+                bound = result;
+            }
+        }
+
+        private void initialize(FifteenPuzzleBoard start, FifteenPuzzleBoard desired) {
+            length = start.getLength();
+            area = start.area();
+            tiles = new int[area];
+            desiredIndices = new int[area + 1];
+            costs = new int[(area + 1) * area];
+            adjacentIndices = new int[area][];
+            emptyIndices = new int[1];
+            heuristic = 0;
+
+            for (int index = 0; index < area; index++) {
+                tiles[index] = start.get(index / length, index % length);
+                desiredIndices[desired.get(index / length, index % length)] = index;
+            }
+
+            for (int value = 1; value < area; value++) {
+                for (int index = 0; index < area; index++) {
+                    costs[value * area + index] = calculateDistance(index, desiredIndices[value]);
+                }
+            }
+
+            for (int index = 0; index < area; index++) {
+                adjacentIndices[index] = findAdjacentIndices(index);
+
+                if (tiles[index] == area) {
+                    emptyIndices[0] = index;
+                } else {
+                    heuristic += costs[tiles[index] * area + index];
+                }
+            }
+        }
+
+        private int[] findAdjacentIndices(int index) {
+            int x = index % length;
+            int y = index / length;
+            var adjacent = new int[4];
+            int count = 0;
+
+            if (y > 0) {
+                adjacent[count++] = index - length;
+            }
+
+            if (y < length - 1) {
+                adjacent[count++] = index + length;
+            }
+
+            if (x > 0) {
+                adjacent[count++] = index - 1;
+            }
+
+            if (x < length - 1) {
+                adjacent[count++] = index + 1;
+            }
+
+            return Arrays.copyOf(adjacent, count);
+        }
+
+        private int calculateDistance(int index, int otherIndex) {
+            return Math.abs(index % length - otherIndex % length)
+                    + Math.abs(index / length - otherIndex / length);
+        }
+
+        /**
+         * A puzzle can be transformed into another one if and only if the parity
+         * of the permutation between them equals the parity of the distance
+         * between the positions of their empty tiles.
+         */
+        private boolean isSolvable() {
+            var seen = new boolean[area];
+            int transpositions = 0;
+
+            for (int index = 0; index < area; index++) {
+                int cycleLength = 0;
+
+                for (int i = index; !seen[i]; i = desiredIndices[tiles[i]]) {
+                    seen[i] = true;
+                    cycleLength++;
+                }
+
+                transpositions += Math.max(cycleLength - 1, 0);
+            }
+
+            int emptyDistance = calculateDistance(emptyIndices[0], desiredIndices[area]);
+            return transpositions % 2 == emptyDistance % 2;
+        }
+
+        /**
+         * @return {@link #FOUND} or the lowest f-value exceeding the bound
+         */
+        private int search(int depth, int bound) {
+            int f = depth + heuristic;
+
+            if (f > bound) {
+                return f;
+            }
+
+            int empty = emptyIndices[depth];
+
+            if (heuristic == 0 && empty == desiredIndices[area]) {
+                solutionLength = depth;
+                return FOUND;
+            }
+
+            expandedNodeCount++;
+            int previousEmpty = (depth > 0) ? emptyIndices[depth - 1] : -1;
+            int minimum = Integer.MAX_VALUE;
+
+            for (int index : adjacentIndices[empty]) {
+                if (index == previousEmpty) {
+                    continue;
+                }
+
+                int tile = tiles[index];
+                int delta = costs[tile * area + empty] - costs[tile * area + index];
+
+                tiles[empty] = tile;
+                tiles[index] = area;
+                heuristic += delta;
+                emptyIndices[depth + 1] = index;
+
+                int result = search(depth + 1, bound);
+
+                if (result == FOUND) {
+                    return FOUND;
+                }
+
+                tiles[index] = tile;
+                tiles[empty] = area;
+                heuristic -= delta;
+                minimum = Math.min(minimum, result);
+            }
+
+            return minimum;
+        }
+
+        /**
+         * Replays the moves of the solution on a copy of the start board.
+         */
+        private List<FifteenPuzzle> tracePath(FifteenPuzzle start) {
+            var path = new ArrayList<FifteenPuzzle>(solutionLength + 1);
+            var board = new FifteenPuzzleBoard(start.board());
+            path.add(start);
+
+            for (int depth = 1; depth <= solutionLength; depth++) {
+                int index = emptyIndices[depth];
+                board.move(board.get(index / length, index % length));
+                path.add(new FifteenPuzzle(new FifteenPuzzleBoard(board)));
+            }
+
+            return path;
+        }
+
+    }
+
+}
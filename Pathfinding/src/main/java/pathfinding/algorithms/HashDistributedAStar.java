@@ -0,0 +1,339 @@
+package pathfinding.algorithms;
+
+import pathfinding.functions.Heuristic;
+import pathfinding.graphs.Graph;
+import pathfinding.service.EndCondition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash distributed A* (HDA*), a parallel A* for all cores.
+ * <p>
+ * Every vertex is owned by one worker thread, chosen by its hash code.
+ * Only the owner keeps the distance, the predecessor and the open entry
+ * of a vertex, so the workers don't share any maps. Generated vertices
+ * are sent to their owners through lock-free {@link ConcurrentLinkedQueue}s.
+ * A worker without open vertices parks until a message arrives, so it doesn't
+ * take a core away from the workers that have work while the frontier is narrow.
+ * <p>
+ * The best path to the end found so far (the incumbent) is shared,
+ * and vertices whose f-value is not below its length are pruned.
+ * A vertex is reopened whenever a shorter path to it arrives, so the
+ * path is the shortest one as long as the heuristic is admissible.
+ * The search terminates once an atomic counter of the unfinished work,
+ * i.e. the messages in flight and the open vertices, drops to zero,
+ * or once a worker fails.
+ * <p>
+ * The graph is read by many threads at once, see {@link Graph}.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public class HashDistributedAStar<T> implements PathfindingAlgorithm<T> {
+
+    /**
+     * The workers of a search wait for each other, so they must all run at once,
+     * which a cached pool guarantees while reusing the threads between searches.
+     */
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("hda-worker-", 0).daemon().factory()
+    );
+
+    private final Heuristic<T> heuristic;
+    private final int workerCount;
+    private final ThreadLocal<Integer> visitedVertexCounts = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * Creates a search with one worker per available processor.
+     */
+    public HashDistributedAStar(Heuristic<T> heuristic) {
+        this(heuristic, Runtime.getRuntime().availableProcessors());
+    }
+
+    public HashDistributedAStar(Heuristic<T> heuristic, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("There must be at least one worker.");
+        }
+
+        this.heuristic = Objects.requireNonNull(heuristic);
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public int getVisitedVertexCount() {
+        return visitedVertexCounts.get();
+    }
+
+    @Override
+    public List<T> findShortestPath(T start,
+                                    EndCondition<T> endCondition,
+                                    Graph<T> graph) {
+        var query = new Query(endCondition, graph);
+        query.send(new Message<>(start, 0, null));
+        var futures = new ArrayList<Future<?>>(workerCount);
+
+        for (var worker : query.workers) {
+            futures.add(WORKERS.submit(worker::run));
+        }
+
+        for (var future : futures) {
+            awaitUninterruptibly(future);
+        }
+
+        visitedVertexCounts.set(query.workers
+                .stream()
+                .mapToInt(worker -> worker.expandedCount)
+                .sum());
+
+        var failure = query.failure.get();
+
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+
+        if (failure != null) {
+            throw new IllegalStateException("A worker of the search failed.", failure);
+        }
+
+        var incumbent = query.incumbent.get();
+        return (incumbent.vertex() == null) ? Collections.emptyList() : query.tracePath(start, incumbent.vertex());
+    }
+
+    private static void awaitUninterruptibly(Future<?> future) {
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                future.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                break;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The state shared by the workers of a single search.
+     */
+    private final class Query {
+
+        private final EndCondition<T> endCondition;
+        private final Graph<T> graph;
+        private final List<Worker> workers;
+        private final AtomicLong pendingWork = new AtomicLong();
+        private final AtomicReference<Incumbent<T>> incumbent = new AtomicReference<>(Incumbent.none());
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Query(EndCondition<T> endCondition, Graph<T> graph) {
+            this.endCondition = endCondition;
+            this.graph = graph;
+            this.workers = new ArrayList<>(workerCount);
+
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(new Worker(this));
+            }
+        }
+
+        private Worker ownerOf(T vertex) {
+            int hash = vertex.hashCode() * 0x9E3779B9;
+            return workers.get(Math.floorMod(hash ^ (hash >>> 16), workerCount));
+        }
+
+        /**
+         * Counts the message as pending work before it can be received.
+         */
+        private void send(Message<T> message) {
+            pendingWork.incrementAndGet();
+            var owner = ownerOf(message.vertex());
+            owner.inbox.add(message);
+
+            if (owner.isParked) {
+                LockSupport.unpark(owner.thread);
+            }
+        }
+
+        /**
+         * Wakes up all workers once the last pending work is done, so they can terminate.
+         */
+        private void completeWork() {
+            if (pendingWork.decrementAndGet() == 0) {
+                wakeUpAll();
+            }
+        }
+
+        private void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+            wakeUpAll();
+        }
+
+        private void wakeUpAll() {
+            for (var worker : workers) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        private boolean isRunning() {
+            return pendingWork.get() > 0 && failure.get() == null;
+        }
+
+        private void offerIncumbent(T vertex, double length) {
+            incumbent.accumulateAndGet(
+                    new Incumbent<>(vertex, length),
+                    (current, candidate) -> (candidate.length() < current.length()) ? candidate : current
+            );
+        }
+
+        private List<T> tracePath(T start, T end) {
+            var path = new ArrayList<T>();
+            var current = end;
+            path.add(current);
+
+            while (!current.equals(start)) {
+                current = ownerOf(current).predecessors.get(current);
+                path.add(current);
+            }
+
+            return path.reversed();
+        }
+
+    }
+
+    private final class Worker {
+
+        private final Query query;
+        private final Queue<Message<T>> inbox = new ConcurrentLinkedQueue<>();
+        private final Map<T, Double> distances = new HashMap<>();
+        private final Map<T, T> predecessors = new HashMap<>();
+        private final PriorityQueue<Node<T>> open = new PriorityQueue<>(Comparator.comparingDouble(Node::f));
+        private int expandedCount;
+        private volatile Thread thread;
+        private volatile boolean isParked;
+
+        private Worker(Query query) {
+            this.query = query;
+        }
+
+        private void run() {
+            thread = Thread.currentThread();
+
+            try {
+                while (query.isRunning()) {
+                    receiveAll();
+                    var node = open.poll();
+
+                    if (node == null) {
+                        park();
+                        continue;
+                    }
+
+                    expand(node);
+                    query.completeWork();
+                }
+            } catch (Throwable e) {
+                query.fail(e);
+            }
+        }
+
+        /**
+         * Waits for a message or the end of the search without using a core.
+         * The flag is set before the inbox is checked again, and senders add
+         * to the inbox before checking the flag, so no wakeup gets lost.
+         */
+        private void park() {
+            isParked = true;
+
+            if (inbox.isEmpty() && query.isRunning()) {
+                LockSupport.park(this);
+            }
+
+            isParked = false;
+        }
+
+        private void receiveAll() {
+            Message<T> message;
+
+            while ((message = inbox.poll()) != null) {
+                receive(message);
+            }
+        }
+
+        /**
+         * Keeps the message as an open vertex if it is the shortest path
+         * to its vertex so far, otherwise its pending work is done.
+         */
+        private void receive(Message<T> message) {
+            T vertex = message.vertex();
+            double g = message.g();
+
+            if (g >= distances.getOrDefault(vertex, Double.POSITIVE_INFINITY)) {
+                query.completeWork();
+                return;
+            }
+
+            distances.put(vertex, g);
+            predecessors.put(vertex, message.predecessor());
+
+            if (query.endCondition.condition().test(vertex)) {
+                query.offerIncumbent(vertex, g);
+                query.completeWork();
+                return;
+            }
+
+            double f = g + heuristic.applyAsDouble(vertex, query.endCondition);
+
+            if (f >= query.incumbent.get().length()) {
+                query.completeWork();
+                return;
+            }
+
+            open.add(new Node<>(vertex, g, f));
+        }
+
+        /**
+         * Sends the neighbors of the node to their owners, unless the node
+         * is stale or can't lead to a path shorter than the incumbent.
+         */
+        private void expand(Node<T> node) {
+            if (node.g() > distances.get(node.vertex()) || node.f() >= query.incumbent.get().length()) {
+                return;
+            }
+
+            expandedCount++;
+
+            query.graph.forEachNeighbor(node.vertex(), (neighbor, weight) -> query.send(
+                    new Message<>(neighbor, node.g() + weight, node.vertex())
+            ));
+        }
+
+    }
+
+    private record Message<T>(T vertex, double g, T predecessor) {
+
+    }
+
+    private record Node<T>(T vertex, double g, double f) {
+
+    }
+
+    private record Incumbent<T>(T vertex, double length) {
+
+        private static <T> Incumbent<T> none() {
+            return new Incumbent<>(null, Double.POSITIVE_INFINITY);
+        }
+
+    }
+
+}
@@ -0,0 +1,20 @@
+package pathfinding.algorithms;
+
+import lombok.RequiredArgsConstructor;
+import pathfinding.functions.IntHeuristic;
+import pathfinding.service.IntEndCondition;
+
+/**
+ * Primitive implementation of the A* algorithm for finding the shortest path.
+ */
+@RequiredArgsConstructor
+public class IntAStar extends AbstractIntBestFirstSearch {
+
+    private final IntHeuristic heuristic;
+
+    @Override
+    public final double h(int vertex, IntEndCondition endCondition) {
+        return heuristic.applyAsDouble(vertex, endCondition);
+    }
+
+}
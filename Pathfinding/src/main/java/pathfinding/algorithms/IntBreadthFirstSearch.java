@@ -0,0 +1,106 @@
+package pathfinding.algorithms;
+
+import pathfinding.functions.IntDoubleConsumer;
+import pathfinding.graphs.IntGraph;
+import pathfinding.service.IntEndCondition;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Primitive implementation of the Breadth-First Search algorithm.
+ * The queue is a plain int array, because every vertex
+ * is enqueued at most once. Every thread has its own arrays,
+ * which are reused between its searches.
+ */
+public class IntBreadthFirstSearch implements IntPathfindingAlgorithm {
+
+    private static final int[] NO_PATH = {};
+
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return searches.get().visitedVertexCount;
+    }
+
+    @Override
+    public int[] findShortestPath(int start,
+                                  IntEndCondition endCondition,
+                                  IntGraph graph) {
+        return searches.get().findShortestPath(start, endCondition, graph);
+    }
+
+    /**
+     * The state of the searches of one thread, whose arrays are reused.
+     */
+    private static final class Search {
+
+        private final BitSet discovered = new BitSet();
+        private final IntDoubleConsumer discovery = this::discover;
+        private int[] queue = {};
+        private int[] predecessors = {};
+        private int tail;
+        private int current;
+
+        private int visitedVertexCount;
+
+        private int[] findShortestPath(int start,
+                                       IntEndCondition endCondition,
+                                       IntGraph graph) {
+            initializeDataStructures(start, graph.getVertexCount());
+            int head = 0;
+
+            while (head < tail) {
+                current = queue[head++];
+                visitedVertexCount++;
+
+                if (endCondition.condition().test(current)) {
+                    return IntPathTracer.trace(predecessors, start, current);
+                }
+
+                graph.forEachNeighborId(current, discovery);
+            }
+
+            return NO_PATH;
+        }
+
+        private void initializeDataStructures(int start, int vertexCount) {
+            if (queue.length != vertexCount) {
+                queue = new int[vertexCount];
+                predecessors = new int[vertexCount];
+            }
+
+            discovered.clear();
+            visitedVertexCount = 0;
+            tail = 0;
+            queue[tail++] = start;
+            discovered.set(start);
+            predecessors[start] = start;
+        }
+
+        private void discover(int neighbor, double weight) {
+            if (neighbor >= predecessors.length) {
+                grow(neighbor + 1);
+            }
+
+            if (!discovered.get(neighbor)) {
+                discovered.set(neighbor);
+                predecessors[neighbor] = current;
+                queue[tail++] = neighbor;
+            }
+        }
+
+        /**
+         * Makes room for the ids of a graph whose vertex count grows while it is searched.
+         * The queue never holds more vertices than there are ids.
+         */
+        private void grow(int minLength) {
+            int length = Math.max(minLength, 2 * predecessors.length);
+            queue = Arrays.copyOf(queue, length);
+            predecessors = Arrays.copyOf(predecessors, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package pathfinding.algorithms;
+
+import pathfinding.service.IntEndCondition;
+
+/**
+ * Primitive implementation of the Dijkstra algorithm for finding the shortest path.
+ */
+public class IntDijkstra extends AbstractIntBestFirstSearch {
+
+    @Override
+    public double h(int vertex, IntEndCondition endCondition) {
+        return 0;
+    }
+
+}
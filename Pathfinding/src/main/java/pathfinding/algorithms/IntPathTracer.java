@@ -0,0 +1,32 @@
+package pathfinding.algorithms;
+
+/**
+ * The primitive counterpart of {@link pathfinding.service.PathTracer}
+ * for the predecessor arrays of the int searches.
+ */
+final class IntPathTracer {
+
+    private IntPathTracer() {
+    }
+
+    /**
+     * @param predecessors the predecessor of every reached vertex id
+     * @return the ids from the start to the end, which must have been reached from the start
+     */
+    static int[] trace(int[] predecessors, int start, int end) {
+        int length = 1;
+
+        for (int vertex = end; vertex != start; vertex = predecessors[vertex]) {
+            length++;
+        }
+
+        var path = new int[length];
+
+        for (int vertex = end; length > 0; vertex = predecessors[vertex]) {
+            path[--length] = vertex;
+        }
+
+        return path;
+    }
+
+}
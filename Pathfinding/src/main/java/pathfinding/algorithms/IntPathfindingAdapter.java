@@ -0,0 +1,161 @@
+package pathfinding.algorithms;
+
+import pathfinding.functions.IntDoubleConsumer;
+import pathfinding.graphs.CompressedGraph;
+import pathfinding.graphs.Graph;
+import pathfinding.graphs.IndexedGraph;
+import pathfinding.graphs.ModifiableGraph;
+import pathfinding.service.EndCondition;
+import pathfinding.service.IntEndCondition;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Makes a primitive algorithm usable through the generic API
+ * by translating the vertices to their ids and back.
+ * Only the start, the end condition and the resulting path are
+ * translated, the search itself runs entirely on primitives.
+ * <p>
+ * An {@link IndexedGraph} is searched as it is. A {@link ModifiableGraph}
+ * is {@link ModifiableGraph#freeze() frozen}, and the frozen graph is reused
+ * until the version of the graph changes. Any other graph assigns the ids
+ * lazily as the search discovers its vertices, so it still boxes and hashes
+ * every discovered vertex once, but works for implicit graphs as well.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class IntPathfindingAdapter<T> implements PathfindingAlgorithm<T> {
+
+    private final IntPathfindingAlgorithm algorithm;
+    private final AtomicReference<Frozen<T>> frozen = new AtomicReference<>();
+
+    /**
+     * @param algorithm the primitive algorithm doing the actual search
+     */
+    public IntPathfindingAdapter(IntPathfindingAlgorithm algorithm) {
+        this.algorithm = Objects.requireNonNull(algorithm);
+    }
+
+    public IntPathfindingAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public int getVisitedVertexCount() {
+        return algorithm.getVisitedVertexCount();
+    }
+
+    @Override
+    public List<T> findShortestPath(T start,
+                                    EndCondition<T> endCondition,
+                                    Graph<T> graph) {
+        IndexedGraph<T> indexedGraph = switch (graph) {
+            case IndexedGraph<T> indexed -> indexed;
+            case ModifiableGraph<T> modifiable -> freeze(modifiable);
+            default -> new LazyIndexedGraph<>(graph);
+        };
+
+        int startId = indexedGraph.indexOf(start);
+
+        if (startId < 0) {
+            return Collections.emptyList();
+        }
+
+        var ids = algorithm.findShortestPath(
+                startId,
+                toIntEndCondition(endCondition, indexedGraph),
+                indexedGraph
+        );
+
+        var path = new ArrayList<T>(ids.length);
+
+        for (int id : ids) {
+            path.add(indexedGraph.vertexAt(id));
+        }
+
+        return path;
+    }
+
+    /**
+     * Reads the version before freezing, so a modification made
+     * meanwhile causes the graph to be frozen again next time.
+     */
+    private CompressedGraph<T> freeze(ModifiableGraph<T> graph) {
+        var cached = frozen.get();
+        long version = graph.getVersion();
+
+        if (cached != null && cached.graph() == graph && cached.version() == version) {
+            return cached.compressed();
+        }
+
+        var compressed = graph.freeze();
+        frozen.set(new Frozen<>(graph, version, compressed));
+        return compressed;
+    }
+
+    private IntEndCondition toIntEndCondition(EndCondition<T> endCondition,
+                                              IndexedGraph<T> graph) {
+        return endCondition.vertex()
+                .map(vertex -> IntEndCondition.endAt(graph.indexOf(vertex)))
+                .orElseGet(() -> IntEndCondition.endIf(
+                        id -> endCondition.condition().test(graph.vertexAt(id))
+                ));
+    }
+
+    private record Frozen<T>(ModifiableGraph<T> graph, long version, CompressedGraph<T> compressed) {
+
+    }
+
+    /**
+     * Assigns the next id to every vertex the first time it is seen,
+     * so the vertex count grows while the graph is searched.
+     * It is only used by a single search.
+     */
+    private static final class LazyIndexedGraph<T> implements IndexedGraph<T> {
+
+        private final Graph<T> graph;
+        private final Map<T, Integer> ids = new HashMap<>();
+        private final List<T> vertices = new ArrayList<>();
+
+        private LazyIndexedGraph(Graph<T> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public int indexOf(T vertex) {
+            return ids.computeIfAbsent(vertex, _ -> {
+                vertices.add(vertex);
+                return vertices.size() - 1;
+            });
+        }
+
+        @Override
+        public T vertexAt(int id) {
+            return vertices.get(id);
+        }
+
+        @Override
+        public int getVertexCount() {
+            return vertices.size();
+        }
+
+        @Override
+        public void forEachNeighborId(int id, IntDoubleConsumer action) {
+            graph.forEachNeighbor(vertexAt(id), (neighbor, weight) -> action.accept(indexOf(neighbor), weight));
+        }
+
+        @Override
+        public Map<T, Double> getNeighbors(T vertex) {
+            return graph.getNeighbors(vertex);
+        }
+
+        @Override
+        public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+            graph.forEachNeighbor(vertex, action);
+        }
+
+    }
+
+}
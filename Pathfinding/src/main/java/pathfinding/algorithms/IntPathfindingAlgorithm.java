@@ -0,0 +1,37 @@
+package pathfinding.algorithms;
+
+import pathfinding.graphs.IntGraph;
+import pathfinding.service.IntEndCondition;
+
+/**
+ * The primitive counterpart of {@link PathfindingAlgorithm}
+ * that works on the vertex ids of an {@link IntGraph}.
+ * <p>
+ * To use an implementation through the generic API,
+ * wrap it into an {@link IntPathfindingAdapter}.
+ * Like the generic algorithms, an instance keeps the state
+ * of a search per thread and can serve many threads at once.
+ */
+public interface IntPathfindingAlgorithm {
+
+    /**
+     * @return the number of visited vertices during
+     * the last search of the calling thread.
+     */
+    int getVisitedVertexCount();
+
+    /**
+     * Finds the shortest path between two given vertex ids in a graph.
+     *
+     * @param start        the id of the vertex the path starts at
+     * @param endCondition the condition that has to
+     *                     be met for the path to end
+     * @param graph        the graph in which a path is to be found
+     * @return the ids of the vertices on the shortest path,
+     * or an empty array if no path exists.
+     */
+    int[] findShortestPath(int start,
+                           IntEndCondition endCondition,
+                           IntGraph graph);
+
+}
@@ -0,0 +1,333 @@
+package pathfinding.algorithms;
+
+import pathfinding.datastructures.IntBinaryHeap;
+import pathfinding.games.Position;
+import pathfinding.graphs.Graph;
+import pathfinding.graphs.GridGraph;
+import pathfinding.service.EndCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Jump point search (JPS) on a {@link GridGraph} with {@link GridGraph.Connectivity#EIGHT}.
+ * <p>
+ * Open grids contain many symmetric shortest paths that only differ in the order
+ * of their moves, and A* would put every cell of them into the open list.
+ * JPS instead only expands the neighbors that can't be reached as cheaply
+ * without the current cell, and from each of them it jumps straight
+ * or diagonally until it hits a cell with a forced neighbor, i.e. one
+ * behind an obstacle. Only these jump points enter the open list.
+ * <p>
+ * The pruning rules match the grid's rule that diagonal moves must not cut
+ * corners, so the paths are exactly as short as the ones found by A*.
+ * The jumps between the jump points are filled in, so the path lists
+ * every cell and can be checked with {@link Graph#sumEdgeWeights}.
+ * The jumps are implemented with loops instead of recursion,
+ * so long corridors can't overflow the stack.
+ */
+public class JumpPointSearch implements PathfindingAlgorithm<Position> {
+
+    private static final int NONE = -1;
+
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return searches.get().visitedVertexCount;
+    }
+
+    @Override
+    public List<Position> findShortestPath(Position start,
+                                           EndCondition<Position> endCondition,
+                                           Graph<Position> graph) {
+        if (!(graph instanceof GridGraph gridGraph) || gridGraph.getConnectivity() != GridGraph.Connectivity.EIGHT) {
+            throw new IllegalArgumentException("The graph must be a GridGraph with Connectivity.EIGHT.");
+        }
+
+        Position endPosition = endCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a vertex."
+                ));
+
+        return searches.get().findShortestPath(start, endPosition, gridGraph);
+    }
+
+    /**
+     * The state of the searches of one thread, whose arrays are reused.
+     */
+    private static final class Search {
+
+        private final IntBinaryHeap open = new IntBinaryHeap(0);
+        private double[] distances = {};
+        private int[] parents = {};
+        private boolean[] closed = {};
+
+        // the cells touched by the last search, to reset only these
+        private int[] touched = {};
+        private int touchedCount;
+
+        private GridGraph grid;
+        private int width;
+        private int end;
+
+        private int visitedVertexCount;
+
+        private List<Position> findShortestPath(Position start, Position endPosition, GridGraph gridGraph) {
+            initialize(gridGraph);
+            visitedVertexCount = 0;
+
+            if (start.equals(endPosition) && grid.isInside(start.x(), start.y())) {
+                return List.of(start);
+            }
+
+            if (!grid.isWalkable(start.x(), start.y()) || !grid.isWalkable(endPosition.x(), endPosition.y())) {
+                return Collections.emptyList();
+            }
+
+            int startId = grid.indexOf(start);
+            end = grid.indexOf(endPosition);
+
+            try {
+                return search(startId);
+            } finally {
+                reset();
+            }
+        }
+
+        private void initialize(GridGraph gridGraph) {
+            int vertexCount = gridGraph.getVertexCount();
+
+            if (distances.length != vertexCount) {
+                distances = new double[vertexCount];
+                parents = new int[vertexCount];
+                closed = new boolean[vertexCount];
+                touched = new int[vertexCount];
+                Arrays.fill(distances, Double.POSITIVE_INFINITY);
+                open.ensureCapacity(vertexCount);
+            }
+
+            grid = gridGraph;
+            width = gridGraph.getWidth();
+            open.clear();
+        }
+
+        /**
+         * Resets the cells touched by the last search, which
+         * are usually only a small fraction of the grid.
+         */
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distances[touched[i]] = Double.POSITIVE_INFINITY;
+                closed[touched[i]] = false;
+            }
+
+            touchedCount = 0;
+            grid = null;
+        }
+
+        private List<Position> search(int start) {
+            reach(start, 0, NONE);
+
+            while (!open.isEmpty()) {
+                int current = open.dequeueMin();
+
+                if (current == end) {
+                    return tracePath(current);
+                }
+
+                closed[current] = true;
+                visitedVertexCount++;
+                expand(current);
+            }
+
+            return Collections.emptyList();
+        }
+
+        private void reach(int id, double distance, int parent) {
+            if (distances[id] == Double.POSITIVE_INFINITY && !closed[id]) {
+                touched[touchedCount++] = id;
+            }
+
+            distances[id] = distance;
+            parents[id] = parent;
+            open.enqueue(id, distance + grid.calculateDistance(id, end));
+        }
+
+        /**
+         * Jumps from the cell towards all of its pruned neighbors
+         * and relaxes the jump points found in their directions.
+         */
+        private void expand(int current) {
+            int x = current % width;
+            int y = current / width;
+            int parent = parents[current];
+
+            if (parent == NONE) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        jumpAndRelax(current, x, y, dx, dy);
+                    }
+                }
+
+                return;
+            }
+
+            int dx = Integer.signum(x - parent % width);
+            int dy = Integer.signum(y - parent / width);
+
+            if (dx != 0 && dy != 0) {
+                jumpAndRelax(current, x, y, 0, dy);
+                jumpAndRelax(current, x, y, dx, 0);
+                jumpAndRelax(current, x, y, dx, dy);
+            } else if (dx != 0) {
+                jumpAndRelax(current, x, y, dx, 0);
+
+                for (int side = -1; side <= 1; side += 2) {
+                    if (isForced(x, y + side, x - dx, y + side)) {
+                        jumpAndRelax(current, x, y, 0, side);
+                        jumpAndRelax(current, x, y, dx, side);
+                    }
+                }
+            } else {
+                jumpAndRelax(current, x, y, 0, dy);
+
+                for (int side = -1; side <= 1; side += 2) {
+                    if (isForced(x + side, y, x + side, y - dy)) {
+                        jumpAndRelax(current, x, y, side, 0);
+                        jumpAndRelax(current, x, y, side, dy);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return whether the side neighbor of a straight move can only be reached
+         * through the current cell, as the cell behind it is blocked
+         */
+        private boolean isForced(int sideX, int sideY, int behindX, int behindY) {
+            return grid.isWalkable(sideX, sideY) && !grid.isWalkable(behindX, behindY);
+        }
+
+        private void jumpAndRelax(int current, int x, int y, int dx, int dy) {
+            if ((dx == 0 && dy == 0) || !canMove(x, y, dx, dy)) {
+                return;
+            }
+
+            int jumpPoint = (dx != 0 && dy != 0)
+                    ? jumpDiagonally(x + dx, y + dy, dx, dy)
+                    : jumpStraight(x + dx, y + dy, dx, dy);
+
+            if (jumpPoint == NONE || closed[jumpPoint]) {
+                return;
+            }
+
+            double tentative = distances[current] + grid.calculateDistance(current, jumpPoint);
+
+            if (tentative < distances[jumpPoint]) {
+                reach(jumpPoint, tentative, current);
+            }
+        }
+
+        /**
+         * @return whether the move is allowed by the rules of the grid
+         */
+        private boolean canMove(int x, int y, int dx, int dy) {
+            if (!grid.isWalkable(x + dx, y + dy)) {
+                return false;
+            }
+
+            return dx == 0 || dy == 0 || (grid.isWalkable(x + dx, y) && grid.isWalkable(x, y + dy));
+        }
+
+        /**
+         * Moves in an orthogonal direction until the end, an obstacle, or
+         * a cell whose side neighbor has just been uncovered by an obstacle.
+         *
+         * @return the id of the jump point or {@link #NONE}
+         */
+        private int jumpStraight(int x, int y, int dx, int dy) {
+            while (true) {
+                int id = y * width + x;
+
+                if (id == end) {
+                    return id;
+                }
+
+                if (dx != 0) {
+                    if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1))
+                            || (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) {
+                        return id;
+                    }
+                } else {
+                    if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy))
+                            || (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) {
+                        return id;
+                    }
+                }
+
+                if (!grid.isWalkable(x + dx, y + dy)) {
+                    return NONE;
+                }
+
+                x += dx;
+                y += dy;
+            }
+        }
+
+        /**
+         * Moves diagonally until the end, a blocked move, or a cell
+         * from which one of the orthogonal components finds a jump point.
+         *
+         * @return the id of the jump point or {@link #NONE}
+         */
+        private int jumpDiagonally(int x, int y, int dx, int dy) {
+            while (true) {
+                int id = y * width + x;
+
+                if (id == end) {
+                    return id;
+                }
+
+                if ((grid.isWalkable(x + dx, y) && jumpStraight(x + dx, y, dx, 0) != NONE)
+                        || (grid.isWalkable(x, y + dy) && jumpStraight(x, y + dy, 0, dy) != NONE)) {
+                    return id;
+                }
+
+                if (!canMove(x, y, dx, dy)) {
+                    return NONE;
+                }
+
+                x += dx;
+                y += dy;
+            }
+        }
+
+        /**
+         * Traces the jump points back to the start and fills in the cells between them.
+         */
+        private List<Position> tracePath(int last) {
+            var path = new ArrayList<Position>();
+            path.add(grid.vertexAt(last));
+
+            for (int current = last; parents[current] != NONE; current = parents[current]) {
+                int parent = parents[current];
+                int dx = Integer.signum(parent % width - current % width);
+                int dy = Integer.signum(parent / width - current / width);
+                int step = dy * width + dx;
+
+                for (int id = current + step; id != parent; id += step) {
+                    path.add(grid.vertexAt(id));
+                }
+
+                path.add(grid.vertexAt(parent));
+            }
+
+            return path.reversed();
+        }
+
+    }
+
+}
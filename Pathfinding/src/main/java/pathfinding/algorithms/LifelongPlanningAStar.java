@@ -0,0 +1,329 @@
+package pathfinding.algorithms;
+
+import pathfinding.functions.Heuristic;
+import pathfinding.graphs.Graph;
+import pathfinding.graphs.GraphEvent;
+import pathfinding.graphs.GraphListener;
+import pathfinding.graphs.ModifiableGraph;
+import pathfinding.service.EndCondition;
+import pathfinding.service.SearchResult;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lifelong Planning A* (LPA*), an incremental A* for graphs that change
+ * slightly between queries for the same start and end.
+ * <p>
+ * Besides its distance g, every vertex has a one-step lookahead rhs, the best
+ * distance via any of its neighbors. A vertex is inconsistent if the two
+ * differ, and only the inconsistent vertices are expanded, ordered by the key
+ * {@code [min(g, rhs) + h; min(g, rhs)]}. When edges change, only their
+ * endpoints become inconsistent, so a replanning usually expands a small
+ * fraction of the vertices a new A* search would.
+ * <p>
+ * A {@link ModifiableGraph} is observed through a {@link GraphListener},
+ * so its modifications are repaired automatically. For any other graph,
+ * every edge added, removed or reweighted since the last search must be
+ * passed to {@link #notifyEdgeChanged} before the next one. The state is kept
+ * as long as the start, the end and the graph instance stay the same,
+ * otherwise the search starts from scratch. The graph must be undirected,
+ * as the neighbors of a vertex are also its predecessors, so a directed
+ * {@link ModifiableGraph} is rejected. Edges of weight zero are fine for
+ * the first search, but the repairs assume that cycles have a positive weight.
+ * <p>
+ * The graph is observed until {@link #reset()} is called or another graph
+ * is searched, so an instance that isn't needed anymore must be reset,
+ * or it keeps collecting the changes of the graph.
+ * <p>
+ * Unlike the other algorithms, the state is shared by all threads,
+ * as it is what the next search repairs, so concurrent searches
+ * are serialized. Use one instance per start and end instead.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public class LifelongPlanningAStar<T> implements PathfindingAlgorithm<T> {
+
+    private final Heuristic<T> heuristic;
+    private final Map<T, Double> distances = new HashMap<>();
+    private final Map<T, Double> lookaheads = new HashMap<>();
+    // the neighbor each lookahead has been calculated from
+    private final Map<T, T> predecessors = new HashMap<>();
+    private final PriorityQueue<Entry<T>> open = new PriorityQueue<>();
+    private final Set<T> changedVertices = ConcurrentHashMap.newKeySet();
+    private final GraphListener<T> listener = events -> events.forEach(this::onGraphChanged);
+
+    private Graph<T> graph;
+    private T start;
+    private EndCondition<T> endCondition;
+    private T end;
+
+    private int visitedVertexCount;
+
+    /**
+     * Creates an LPA* without a heuristic, i.e. an incremental Dijkstra.
+     */
+    public LifelongPlanningAStar() {
+        this((_, _) -> 0);
+    }
+
+    /**
+     * @param heuristic a consistent heuristic
+     */
+    public LifelongPlanningAStar(Heuristic<T> heuristic) {
+        this.heuristic = Objects.requireNonNull(heuristic);
+    }
+
+    /**
+     * Marks both endpoints of an edge that has been added, removed or
+     * reweighted since the last search, so they are repaired by the next one.
+     */
+    public void notifyEdgeChanged(T source, T destination) {
+        changedVertices.add(source);
+        changedVertices.add(destination);
+    }
+
+    /**
+     * Marks a vertex whose edges have changed in any way since the last search.
+     */
+    public void notifyVertexChanged(T vertex) {
+        changedVertices.add(vertex);
+    }
+
+    private void onGraphChanged(GraphEvent<T> event) {
+        switch (event) {
+            case GraphEvent.EdgeAdded<T>(_, var source, var destination, _) -> notifyEdgeChanged(source, destination);
+            case GraphEvent.EdgeRemoved<T>(_, var source, var destination, _) -> notifyEdgeChanged(source, destination);
+            case GraphEvent.EdgeReweighted<T>(_, var source, var destination, _, _) -> notifyEdgeChanged(source, destination);
+            case GraphEvent.VertexRemoved<T>(_, var vertex) -> notifyVertexChanged(vertex);
+            case GraphEvent.VertexAdded<T> _ -> {
+                // a new vertex doesn't have any edges yet
+            }
+        }
+    }
+
+    /**
+     * Forgets the state, so the next search starts from scratch,
+     * and stops observing the graph.
+     */
+    public synchronized void reset() {
+        if (graph instanceof ModifiableGraph<T> modifiableGraph) {
+            modifiableGraph.removeListener(listener);
+        }
+
+        distances.clear();
+        lookaheads.clear();
+        predecessors.clear();
+        open.clear();
+        changedVertices.clear();
+        graph = null;
+        start = null;
+        end = null;
+        endCondition = null;
+    }
+
+    /**
+     * @return the number of vertices expanded by the last search of any thread,
+     * which is only the repaired part after a replanning
+     */
+    @Override
+    public synchronized int getVisitedVertexCount() {
+        return visitedVertexCount;
+    }
+
+    @Override
+    public synchronized SearchResult<T> findShortestPathWithStatistics(T start,
+                                                                       EndCondition<T> endCondition,
+                                                                       Graph<T> graph) {
+        var path = findShortestPath(start, endCondition, graph);
+        return new SearchResult<>(path, visitedVertexCount);
+    }
+
+    @Override
+    public synchronized List<T> findShortestPath(T start,
+                                                 EndCondition<T> endCondition,
+                                                 Graph<T> graph) {
+        T end = endCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a vertex."
+                ));
+
+        if (graph != this.graph || !start.equals(this.start) || !end.equals(this.end)) {
+            initialize(start, endCondition, graph);
+        } else {
+            repairChangedVertices();
+        }
+
+        visitedVertexCount = 0;
+        computeShortestPath();
+        return tracePath();
+    }
+
+    private void initialize(T start, EndCondition<T> endCondition, Graph<T> graph) {
+        if (graph instanceof ModifiableGraph<T> modifiableGraph && modifiableGraph.isDirected()) {
+            throw new IllegalArgumentException("The graph must be undirected.");
+        }
+
+        reset();
+        this.graph = graph;
+        this.start = start;
+        this.end = endCondition.vertex().orElseThrow();
+        this.endCondition = endCondition;
+
+        if (graph instanceof ModifiableGraph<T> modifiableGraph) {
+            modifiableGraph.addListener(listener);
+        }
+
+        lookaheads.put(start, 0.0);
+        open.add(createEntry(start));
+    }
+
+    /**
+     * Removes every vertex before repairing it, so a vertex
+     * changed by another thread meanwhile is kept for the next search.
+     */
+    private void repairChangedVertices() {
+        var iterator = changedVertices.iterator();
+
+        while (iterator.hasNext()) {
+            T vertex = iterator.next();
+            iterator.remove();
+            updateVertex(vertex);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (true) {
+            var top = peekValidEntry();
+
+            if (top == null || (top.compareTo(createEntry(end)) >= 0 && g(end) == rhs(end))) {
+                return;
+            }
+
+            open.poll();
+            T vertex = top.vertex();
+            visitedVertexCount++;
+
+            if (g(vertex) > rhs(vertex)) {
+                distances.put(vertex, rhs(vertex));
+            } else {
+                distances.remove(vertex);
+                updateVertex(vertex);
+            }
+
+            graph.forEachNeighbor(vertex, (neighbor, _) -> updateVertex(neighbor));
+        }
+    }
+
+    /**
+     * Skips the entries of vertices that have become consistent
+     * or whose key has changed since they were enqueued.
+     *
+     * @return the valid entry with the lowest key, or null if there is none
+     */
+    private Entry<T> peekValidEntry() {
+        while (!open.isEmpty()) {
+            var top = open.peek();
+            T vertex = top.vertex();
+
+            if (g(vertex) != rhs(vertex) && top.compareTo(createEntry(vertex)) == 0) {
+                return top;
+            }
+
+            open.poll();
+        }
+
+        return null;
+    }
+
+    /**
+     * Recalculates the lookahead of the vertex from its neighbors
+     * and enqueues it if it has become inconsistent.
+     * On a tie, the predecessor is kept, so the predecessors
+     * can't form a cycle across edges of weight zero.
+     */
+    private void updateVertex(T vertex) {
+        if (!vertex.equals(start)) {
+            T oldPredecessor = predecessors.get(vertex);
+            T predecessor = null;
+            double lookahead = Double.POSITIVE_INFINITY;
+
+            for (var neighbor : graph.getNeighbors(vertex).entrySet()) {
+                double distance = g(neighbor.getKey()) + neighbor.getValue();
+
+                if (distance < lookahead || (distance == lookahead && neighbor.getKey().equals(oldPredecessor))) {
+                    lookahead = distance;
+                    predecessor = neighbor.getKey();
+                }
+            }
+
+            if (lookahead == Double.POSITIVE_INFINITY) {
+                lookaheads.remove(vertex);
+                predecessors.remove(vertex);
+            } else {
+                lookaheads.put(vertex, lookahead);
+                predecessors.put(vertex, predecessor);
+            }
+        }
+
+        if (g(vertex) != rhs(vertex)) {
+            open.add(createEntry(vertex));
+        }
+    }
+
+    /**
+     * Walks back from the end, always to the neighbor
+     * the distance of a vertex has been calculated from.
+     */
+    private List<T> tracePath() {
+        if (g(end) == Double.POSITIVE_INFINITY) {
+            return Collections.emptyList();
+        }
+
+        var path = new ArrayList<T>();
+        T current = end;
+        path.add(current);
+
+        while (!current.equals(start)) {
+            current = predecessors.get(current);
+
+            if (current == null || path.size() > distances.size()) {
+                throw new IllegalStateException(
+                        "The graph has changed without being notified."
+                );
+            }
+
+            path.add(current);
+        }
+
+        return path.reversed();
+    }
+
+    private double g(T vertex) {
+        return distances.getOrDefault(vertex, Double.POSITIVE_INFINITY);
+    }
+
+    private double rhs(T vertex) {
+        return lookaheads.getOrDefault(vertex, Double.POSITIVE_INFINITY);
+    }
+
+    private Entry<T> createEntry(T vertex) {
+        double distance = Math.min(g(vertex), rhs(vertex));
+        return new Entry<>(vertex, distance + heuristic.applyAsDouble(vertex, endCondition), distance);
+    }
+
+    /**
+     * An entry of the open list, ordered lexicographically by its key.
+     */
+    private record Entry<T>(T vertex, double primaryKey, double secondaryKey)
+            implements Comparable<Entry<T>> {
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int comparison = Double.compare(primaryKey, other.primaryKey);
+            return (comparison != 0) ? comparison : Double.compare(secondaryKey, other.secondaryKey);
+        }
+
+    }
+
+}
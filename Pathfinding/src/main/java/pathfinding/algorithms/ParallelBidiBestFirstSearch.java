@@ -0,0 +1,241 @@
+package pathfinding.algorithms;
+
+import pathfinding.functions.Heuristic;
+import pathfinding.graphs.Graph;
+import pathfinding.service.EndCondition;
+import pathfinding.service.PathTracer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A parallel variant of {@link BidiBestFirstSearch#findShortestPath}.
+ * The backward search runs on its own thread while the forward search
+ * runs on the calling thread, so a query can use two cores.
+ * <p>
+ * Both searches publish every improved distance to a shared
+ * {@link ConcurrentHashMap}, which atomically combines the distances
+ * of both sides per vertex. This yields the length μ of the shortest
+ * path found so far, which is shared as well. A search stops once its
+ * lowest f-value is at least μ and then makes the other one stop too.
+ * The path is exact as long as the heuristics are consistent.
+ * <p>
+ * Each search is initialized, run and traced on its own thread, as the
+ * state of a {@link BestFirstSearch} belongs to the thread driving it.
+ * The backward searches run on a shared pool of threads, so their state
+ * is reused between queries like the one of the forward searches.
+ * <p>
+ * The graph must be undirected and is read by two threads at once,
+ * see {@link Graph}.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public class ParallelBidiBestFirstSearch<T> implements PathfindingAlgorithm<T> {
+
+    /**
+     * A backward search waits for its forward search, so every query
+     * needs a thread of its own, which a cached pool reuses between queries.
+     */
+    private static final ExecutorService BACKWARD_SEARCHES = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("backward-search-", 0).daemon().factory()
+    );
+
+    private final BestFirstSearch<T> forwardSearch;
+    private final BestFirstSearch<T> backwardSearch;
+    /**
+     * The number of vertices visited by the backward search
+     * of the last query of the calling thread.
+     */
+    private final ThreadLocal<Integer> backwardVisitedVertexCounts = ThreadLocal.withInitial(() -> 0);
+
+    public ParallelBidiBestFirstSearch(BestFirstSearch<T> forwardSearch,
+                                       BestFirstSearch<T> backwardSearch) {
+        if (Objects.requireNonNull(forwardSearch) == Objects.requireNonNull(backwardSearch)) {
+            throw new IllegalArgumentException(
+                    "The forward and backward searches " +
+                            "must not be the same instance."
+            );
+        }
+
+        this.forwardSearch = forwardSearch;
+        this.backwardSearch = backwardSearch;
+    }
+
+    /**
+     * Constructor to create a parallel bidirectional best-first search using A*
+     * with the given heuristic as the search algorithm for both directions
+     */
+    public ParallelBidiBestFirstSearch(Heuristic<T> heuristic) {
+        this(new AStar<>(heuristic), new AStar<>(heuristic));
+    }
+
+    public BestFirstSearch<T> forwardSearch() {
+        return forwardSearch;
+    }
+
+    public BestFirstSearch<T> backwardSearch() {
+        return backwardSearch;
+    }
+
+    @Override
+    public int getVisitedVertexCount() {
+        return forwardSearch.getVisitedVertexCount() + backwardVisitedVertexCounts.get();
+    }
+
+    @Override
+    public List<T> findShortestPath(T start,
+                                    EndCondition<T> forwardEndCondition,
+                                    Graph<T> graph) {
+        T end = forwardEndCondition.vertex()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The end condition must specify a vertex."
+                ));
+
+        var query = new Query<T>();
+        forwardSearch.initializeDataStructures(start);
+        query.update(start, 0, true);
+        query.update(end, 0, false);
+
+        var backwardTask = BACKWARD_SEARCHES.submit(() -> {
+            backwardSearch.initializeDataStructures(end);
+            query.run(backwardSearch, EndCondition.endAt(start), graph, false);
+
+            // the meeting vertex is final once the forward search has stopped, too
+            query.forwardDone.await();
+            var meeting = query.meeting.get().vertex();
+
+            var endToMeeting = (meeting == null)
+                    ? List.<T>of()
+                    : new PathTracer<>(backwardSearch.getPredecessors()).unsafeTrace(end, meeting);
+
+            return new BackwardResult<>(endToMeeting, backwardSearch.getVisitedVertexCount());
+        });
+
+        BackwardResult<T> backward;
+
+        try {
+            query.run(forwardSearch, forwardEndCondition, graph, true);
+        } finally {
+            query.done.set(true);
+            query.forwardDone.countDown();
+            backward = awaitBackwardSearch(backwardTask);
+        }
+
+        backwardVisitedVertexCounts.set(backward.visitedVertexCount());
+        var meeting = query.meeting.get();
+
+        return (meeting.vertex() == null)
+                ? Collections.emptyList()
+                : mergePaths(start, meeting.vertex(), backward.endToMeeting());
+    }
+
+    private static <T> BackwardResult<T> awaitBackwardSearch(Future<BackwardResult<T>> backwardTask) {
+        try {
+            return backwardTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the backward search.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("The backward search failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Merges the path from the start to the meeting vertex
+     * with the reversed path from the end to the meeting vertex.
+     * The meeting vertex is included only once in the result.
+     */
+    private List<T> mergePaths(T start, T meeting, List<T> endToMeeting) {
+        var startToMeeting = new PathTracer<>(forwardSearch.getPredecessors()).unsafeTrace(start, meeting);
+        var meetingToEnd = endToMeeting.reversed();
+        startToMeeting.addAll(meetingToEnd.subList(1, meetingToEnd.size()));
+        return startToMeeting;
+    }
+
+    /**
+     * The state shared by the two threads of a single query.
+     */
+    private static final class Query<T> {
+
+        private final Map<T, Distances> distances = new ConcurrentHashMap<>();
+        private final AtomicReference<Meeting<T>> meeting = new AtomicReference<>(Meeting.none());
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final CountDownLatch forwardDone = new CountDownLatch(1);
+
+        private void run(BestFirstSearch<T> search,
+                         EndCondition<T> endCondition,
+                         Graph<T> graph,
+                         boolean isForward) {
+            while (!done.get() && search.hasOpen()) {
+                if (search.getMinOpenPriority() >= meeting.get().length()) {
+                    break;
+                }
+
+                if (!search.nextUnvisited()) {
+                    break;
+                }
+
+                search.closeCurrent();
+                search.expand(endCondition, graph, (neighbor, g) -> update(neighbor, g, isForward));
+            }
+
+            // either μ is optimal or this side is exhausted, so μ is final
+            done.set(true);
+        }
+
+        private void update(T vertex, double g, boolean isForward) {
+            var combined = distances.merge(
+                    vertex,
+                    (isForward) ? new Distances(g, Double.POSITIVE_INFINITY) : new Distances(Double.POSITIVE_INFINITY, g),
+                    Distances::min
+            );
+
+            double length = combined.forward() + combined.backward();
+
+            if (length < meeting.get().length()) {
+                meeting.accumulateAndGet(
+                        new Meeting<>(vertex, length),
+                        (current, candidate) -> (candidate.length() < current.length()) ? candidate : current
+                );
+            }
+        }
+
+    }
+
+    /**
+     * The part of the path traced by the backward search on its own thread.
+     */
+    private record BackwardResult<T>(List<T> endToMeeting, int visitedVertexCount) {
+    }
+
+    private record Distances(double forward, double backward) {
+
+        private Distances min(Distances other) {
+            return new Distances(
+                    Math.min(forward, other.forward),
+                    Math.min(backward, other.backward)
+            );
+        }
+
+    }
+
+    private record Meeting<T>(T vertex, double length) {
+
+        private static <T> Meeting<T> none() {
+            return new Meeting<>(null, Double.POSITIVE_INFINITY);
+        }
+
+    }
+
+}
@@ -2,6 +2,7 @@ package pathfinding.algorithms;
 
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
+import pathfinding.service.SearchResult;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,4 +29,14 @@ public interface PathfindingAlgorithm<T> extends SearchAlgorithm<T> {
         return findShortestPath(start, endCondition, graph);
     }
 
+    /**
+     * Same as {@link #findShortestPath}, but returns the statistics with the path.
+     */
+    default SearchResult<T> findShortestPathWithStatistics(T start,
+                                                           EndCondition<T> endCondition,
+                                                           Graph<T> graph) {
+        var path = findShortestPath(start, endCondition, graph);
+        return new SearchResult<>(path, getVisitedVertexCount());
+    }
+
 }
@@ -1,6 +1,5 @@
 package pathfinding.algorithms;
 
-import lombok.Getter;
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
 
@@ -17,27 +16,35 @@ import java.util.List;
  * The interal workings are much simpler to understand in
  * this implementation, but it is prone to stack overflow errors
  * for large graphs.
+ * <p>
+ * The visited vertices are counted in a {@link SearchContext} per thread.
  *
  * @param <T> the type of the nodes in the graph to be searched
  */
-@Getter
 public class RecursiveDFS<T> implements PathfindingAlgorithm<T> {
 
-    private int visitedVertexCount;
+    private final ThreadLocal<SearchContext<T>> contexts = ThreadLocal.withInitial(SearchContext::new);
+
+    @Override
+    public int getVisitedVertexCount() {
+        return contexts.get().getVisitedVertexCount();
+    }
 
     @Override
     public List<T> findAnyPath(T start,
                                EndCondition<T> endCondition,
                                Graph<T> graph) {
-        visitedVertexCount = 0;
-        return findAnyPath(start, endCondition, graph, List.of(start));
+        var context = contexts.get();
+        context.reset();
+        return findAnyPath(start, endCondition, graph, List.of(start), context);
     }
 
     private List<T> findAnyPath(T start,
                                 EndCondition<T> endCondition,
                                 Graph<T> graph,
-                                List<T> path) {
-        visitedVertexCount++;
+                                List<T> path,
+                                SearchContext<T> context) {
+        context.countVisit();
 
         if (endCondition.condition().test(start)) {
             return path;
@@ -51,7 +58,8 @@ public class RecursiveDFS<T> implements PathfindingAlgorithm<T> {
                         neighbor,
                         endCondition,
                         graph,
-                        append(path, neighbor)
+                        append(path, neighbor),
+                        context
                 ))
                 .filter(list -> !list.isEmpty())
                 .findAny()
@@ -62,15 +70,17 @@ public class RecursiveDFS<T> implements PathfindingAlgorithm<T> {
     public List<T> findShortestPath(T start,
                                     EndCondition<T> endCondition,
                                     Graph<T> graph) {
-        visitedVertexCount = 0;
-        return findShortestPath(start, endCondition, graph, List.of(start));
+        var context = contexts.get();
+        context.reset();
+        return findShortestPath(start, endCondition, graph, List.of(start), context);
     }
 
     private List<T> findShortestPath(T start,
                                      EndCondition<T> endCondition,
                                      Graph<T> graph,
-                                     List<T> path) {
-        visitedVertexCount++;
+                                     List<T> path,
+                                     SearchContext<T> context) {
+        context.countVisit();
 
         if (endCondition.condition().test(start)) {
             return path;
@@ -84,7 +94,8 @@ public class RecursiveDFS<T> implements PathfindingAlgorithm<T> {
                         neighbor,
                         endCondition,
                         graph,
-                        append(path, neighbor)
+                        append(path, neighbor),
+                        context
                 ))
                 .filter(list -> !list.isEmpty())
                 .min(Comparator.comparingDouble(graph::sumEdgeWeights))
@@ -2,14 +2,25 @@ package pathfinding.algorithms;
 
 import pathfinding.graphs.Graph;
 import pathfinding.service.EndCondition;
+import pathfinding.service.SearchResult;
 
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Interface for search algorithms.
+ * <p>
+ * An instance only holds the configuration of the algorithm, the state of a
+ * search is kept per thread, so a single instance can serve many threads at
+ * once. Implementations that can't do so state it in their documentation.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
 public interface SearchAlgorithm<T> {
 
     /**
-     * @return the number of visited vertices during the last search.
+     * @return the number of visited vertices during
+     * the last search of the calling thread.
      */
     int getVisitedVertexCount();
 
@@ -27,4 +38,14 @@ public interface SearchAlgorithm<T> {
                         EndCondition<T> endCondition,
                         Graph<T> graph);
 
+    /**
+     * Same as {@link #findAnyPath}, but returns the statistics with the path.
+     */
+    default SearchResult<T> findAnyPathWithStatistics(T start,
+                                                      EndCondition<T> endCondition,
+                                                      Graph<T> graph) {
+        var path = findAnyPath(start, endCondition, graph);
+        return new SearchResult<>(path, getVisitedVertexCount());
+    }
+
 }
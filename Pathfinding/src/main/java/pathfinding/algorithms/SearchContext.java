@@ -0,0 +1,239 @@
+package pathfinding.algorithms;
+
+import pathfinding.datastructures.AddressableHeap;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The state of a search, i.e. the distances, predecessors, closed flags
+ * and open list entries of the vertices, which can be reused by any number
+ * of searches one after another.
+ * <p>
+ * Instead of clearing its map, {@link #reset()} increments a generation,
+ * and a vertex whose node is stamped with an older generation counts
+ * as unreached. The nodes are recycled when a later search reaches the same
+ * vertex again, so back-to-back searches neither pay for the size of the
+ * previous one nor allocate a node per vertex. The nodes are only dropped
+ * when the last search has used a small fraction of them, so a single huge
+ * search doesn't slow down the iteration of the following small ones.
+ * <p>
+ * A context must only be used by one search at a time, which is why the
+ * algorithms keep one per thread.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+final class SearchContext<T> {
+
+    private static final int MIN_RETAINED_NODES = 1 << 12;
+    private static final int MAX_UNUSED_RATIO = 8;
+
+    private final Supplier<? extends AddressableHeap<T>> openFactory;
+    private final Map<T, Double> distances =
+            new NodeView<>(node -> node.distance < Double.POSITIVE_INFINITY, node -> node.distance);
+    private final Map<T, T> predecessors =
+            new NodeView<>(node -> node.predecessor != null, node -> node.predecessor);
+    private final Set<T> closed = new NodeView<>(node -> node.closed, node -> true).keySet();
+    private Map<T, Node<T>> nodes = new HashMap<>();
+    private final ArrayDeque<T> frontier = new ArrayDeque<>();
+    private AddressableHeap<T> open;
+    private T current;
+    private int generation;
+    private int reachedCount;
+    private int visitedVertexCount;
+
+    /**
+     * Creates a context without an open list, e.g. for a breadth-first search.
+     */
+    SearchContext() {
+        this(null);
+    }
+
+    /**
+     * @param openFactory creates the open list once, which is cleared on every reset
+     */
+    SearchContext(Supplier<? extends AddressableHeap<T>> openFactory) {
+        this.openFactory = openFactory;
+    }
+
+    /**
+     * Forgets the state of the last search in constant time,
+     * unless the nodes have to be dropped.
+     */
+    void reset() {
+        if (generation == Integer.MAX_VALUE
+                || (nodes.size() > MIN_RETAINED_NODES && nodes.size() > MAX_UNUSED_RATIO * reachedCount)) {
+            nodes = new HashMap<>();
+            generation = 0;
+        }
+
+        generation++;
+        reachedCount = 0;
+        visitedVertexCount = 0;
+        current = null;
+        frontier.clear();
+
+        if (open != null) {
+            open.clear();
+        } else if (openFactory != null) {
+            open = openFactory.get();
+        }
+    }
+
+    /**
+     * @return the node of the vertex, or null if it hasn't been reached since the last reset
+     */
+    Node<T> get(Object vertex) {
+        var node = nodes.get(vertex);
+        return (node != null && node.generation == generation) ? node : null;
+    }
+
+    /**
+     * @return the node of the vertex, which is recycled or created if it hasn't
+     * been reached since the last reset
+     */
+    Node<T> reach(T vertex) {
+        var node = nodes.computeIfAbsent(vertex, _ -> new Node<>());
+
+        if (node.generation != generation) {
+            node.generation = generation;
+            node.distance = Double.POSITIVE_INFINITY;
+            node.predecessor = null;
+            node.openEntry = null;
+            node.closed = false;
+            reachedCount++;
+        }
+
+        return node;
+    }
+
+    /**
+     * Closes the node and counts it as visited, unless it has already been closed.
+     */
+    void close(Node<T> node) {
+        if (!node.closed) {
+            node.closed = true;
+            visitedVertexCount++;
+        }
+    }
+
+    void countVisit() {
+        visitedVertexCount++;
+    }
+
+    int getVisitedVertexCount() {
+        return visitedVertexCount;
+    }
+
+    AddressableHeap<T> getOpen() {
+        return open;
+    }
+
+    /**
+     * @return the queue or stack of an uninformed search, which is cleared on every reset
+     */
+    ArrayDeque<T> getFrontier() {
+        return frontier;
+    }
+
+    T getCurrent() {
+        return current;
+    }
+
+    void setCurrent(T current) {
+        this.current = current;
+    }
+
+    /**
+     * @return a read-only view of the distances of the reached vertices
+     */
+    Map<T, Double> getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return a read-only view of the predecessors of the reached vertices
+     */
+    Map<T, T> getPredecessors() {
+        return predecessors;
+    }
+
+    /**
+     * @return a read-only view of the closed vertices
+     */
+    Set<T> getClosed() {
+        return closed;
+    }
+
+    /**
+     * The state of a vertex in the search of the generation it is stamped with.
+     */
+    static final class Node<T> {
+
+        double distance;
+        T predecessor;
+        AddressableHeap.Handle<T> openEntry;
+        boolean closed;
+        private int generation = -1;
+
+    }
+
+    /**
+     * A map of the nodes of the current generation that pass the filter.
+     * Lookups are constant time, the iteration is linear in the number of nodes.
+     */
+    private final class NodeView<V> extends AbstractMap<T, V> {
+
+        private final Predicate<Node<T>> filter;
+        private final Function<Node<T>, V> mapper;
+
+        private NodeView(Predicate<Node<T>> filter, Function<Node<T>, V> mapper) {
+            this.filter = filter;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public V get(Object key) {
+            var node = SearchContext.this.get(key);
+            return (node != null && filter.test(node)) ? mapper.apply(node) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<T, V>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public Iterator<Entry<T, V>> iterator() {
+                    return nodes.entrySet()
+                            .stream()
+                            .filter(entry -> entry.getValue().generation == generation && filter.test(entry.getValue()))
+                            .map(entry -> Map.entry(entry.getKey(), mapper.apply(entry.getValue())))
+                            .iterator();
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+
+                    for (var node : nodes.values()) {
+                        if (node.generation == generation && filter.test(node)) {
+                            size++;
+                        }
+                    }
+
+                    return size;
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -3,6 +3,7 @@ package pathfinding.benchmark;
 import pathfinding.graphs.CompleteGraph;
 import pathfinding.graphs.Graph;
 import pathfinding.service.Benchmark;
+import pathfinding.service.DistanceMatrix;
 import pathfinding.service.EndCondition;
 import processing.core.PVector;
 
@@ -17,7 +18,11 @@ import java.util.Random;
 public class CompleteGraphBenchmark implements GraphBenchmark {
 
     private static final int ITERATION_COUNT = 1000;
-    private static final Graph<PVector> GRAPH = new CompleteGraph<>(VERTICES);
+    private static final int MATRIX_SIZE = 32;
+    private static final Graph<PVector> GRAPH = new CompleteGraph<>(
+            VERTICES,
+            (source, destination) -> source.dist(destination)
+    );
 
     public static void main(String[] args) {
         new CompleteGraphBenchmark().runBenchmark();
@@ -68,11 +73,34 @@ public class CompleteGraphBenchmark implements GraphBenchmark {
                 long nanos = benchmark.times(ITERATION_COUNT);
                 System.out.println(STR."\{nanos / 1e6} ms for \{algorithm.getClass().getSimpleName()}");
             }
+
+            runMatrixBenchmark(startVertices, endConditions);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Computes the distances between the first sources and targets at once,
+     * which is how a dispatcher would ask for them, instead of pair by pair.
+     */
+    private static void runMatrixBenchmark(List<PVector> startVertices,
+                                           List<EndCondition<PVector>> endConditions) {
+        var sources = startVertices.subList(0, MATRIX_SIZE);
+
+        var targets = endConditions.subList(0, MATRIX_SIZE)
+                .stream()
+                .map(endCondition -> endCondition.vertex().orElseThrow())
+                .toList();
+
+        var benchmark = Benchmark.<DistanceMatrix<PVector>>builder()
+                .task(_ -> DistanceMatrix.of(GRAPH, sources, targets))
+                .build();
+
+        long nanos = benchmark.times(1);
+        System.out.println(STR."\{nanos / 1e6} ms for a \{MATRIX_SIZE}x\{MATRIX_SIZE} DistanceMatrix");
+    }
+
     @Override
     public String outputFileName() {
         return "complete-benchmark.csv";
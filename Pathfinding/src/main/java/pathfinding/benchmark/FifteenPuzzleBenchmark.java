@@ -1,8 +1,10 @@
 package pathfinding.benchmark;
 
 import pathfinding.algorithms.BidiBestFirstSearch;
+import pathfinding.functions.PackedFifteenPuzzleHeuristic;
 import pathfinding.games.FifteenPuzzle;
-import pathfinding.graphs.FifteenPuzzleGraph;
+import pathfinding.games.PackedFifteenPuzzle;
+import pathfinding.graphs.PackedFifteenPuzzleGraph;
 import pathfinding.service.Benchmark;
 import pathfinding.service.EndCondition;
 import pathfinding.service.Pathfinder;
@@ -18,19 +20,13 @@ public class FifteenPuzzleBenchmark {
     private static final int BOARD_SIZE = 4;
 
     public static void main(String[] args) {
-        var graph = new FifteenPuzzleGraph();
-        var solvedPuzzle = FifteenPuzzle.solved(BOARD_SIZE);
+        var graph = new PackedFifteenPuzzleGraph();
+        var algorithm = new BidiBestFirstSearch<>(new PackedFifteenPuzzleHeuristic());
 
-        var algorithm = new BidiBestFirstSearch<FifteenPuzzle>(
-                (vertex, endCondition) -> vertex.getLeastMoveCountTo(
-                        endCondition.vertex().orElseThrow()
-                )
-        );
-
-        var benchmark = Benchmark.<List<FifteenPuzzle>>builder()
+        var benchmark = Benchmark.<List<Long>>builder()
                 .task((_) -> algorithm.findAnyPath(
-                        new FifteenPuzzle(BOARD_SIZE),
-                        EndCondition.endAt(solvedPuzzle),
+                        PackedFifteenPuzzle.pack(new FifteenPuzzle(BOARD_SIZE)),
+                        EndCondition.endAt(PackedFifteenPuzzle.SOLVED),
                         graph
                 ))
                 .build();
@@ -1,5 +1,7 @@
 package pathfinding.benchmark;
 
+import pathfinding.algorithms.AStar;
+import pathfinding.algorithms.LifelongPlanningAStar;
 import pathfinding.graphs.ModifiableGraph;
 import pathfinding.service.Benchmark;
 import pathfinding.service.EndCondition;
@@ -88,6 +90,8 @@ public class ModifiableGraphBenchmark implements GraphBenchmark {
                 long nanos = benchmark.times(GRAPH_COUNT);
                 System.out.println(STR."\{nanos / 1e6} ms for \{algorithm.getClass().getSimpleName()}");
             }
+
+            runReplanningBenchmark(start, endCondition);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -95,12 +99,51 @@ public class ModifiableGraphBenchmark implements GraphBenchmark {
 
     private void disconnectVertexInAllGraphs(PVector vertex) {
         for (var graph : graphs) {
-            graph.getNeighbors(vertex)
-                    .keySet()
-                    .stream()
-                    .toList()  // copy to avoid concurrent modification
-                    .forEach(neighbor -> graph.removeEdge(vertex, neighbor));
+            disconnectVertex(graph, vertex);
+        }
+    }
+
+    /**
+     * Removes all edges of the vertex, notifying the listeners of the graph only once.
+     */
+    private static void disconnectVertex(ModifiableGraph<PVector> graph, PVector vertex) {
+        graph.batch(() -> graph.getNeighbors(vertex)
+                .keySet()
+                .stream()
+                .toList()  // copy to avoid concurrent modification
+                .forEach(neighbor -> graph.removeEdge(vertex, neighbor)));
+    }
+
+    /**
+     * Disconnects a vertex in the middle of the shortest path of every graph,
+     * then compares replanning with LPA* to searching again with A*.
+     */
+    private void runReplanningBenchmark(PVector start, EndCondition<PVector> endCondition) {
+        long incrementalNanos = 0;
+        long fullNanos = 0;
+
+        for (var graph : graphs) {
+            var search = new LifelongPlanningAStar<>(HEURISTIC);
+            var path = search.findShortestPath(start, endCondition, graph);
+
+            if (path.size() < 3) {
+                continue;
+            }
+
+            disconnectVertex(graph, path.get(path.size() / 2));
+
+            long startNanos = System.nanoTime();
+            search.findShortestPath(start, endCondition, graph);
+            incrementalNanos += System.nanoTime() - startNanos;
+            search.reset();
+
+            startNanos = System.nanoTime();
+            new AStar<>(HEURISTIC).findShortestPath(start, endCondition, graph);
+            fullNanos += System.nanoTime() - startNanos;
         }
+
+        System.out.println(STR."\{incrementalNanos / 1e6} ms for replanning with LifelongPlanningAStar");
+        System.out.println(STR."\{fullNanos / 1e6} ms for replanning with AStar");
     }
 
     @Override
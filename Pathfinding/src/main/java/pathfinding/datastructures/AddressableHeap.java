@@ -0,0 +1,62 @@
+package pathfinding.datastructures;
+
+/**
+ * A min-priority queue that hands out a {@link Handle} for every
+ * enqueued value, so its priority can be decreased later on.
+ * <p>
+ * Handles must only be passed to the heap that created them.
+ * Some implementations are monotone, i.e. they only accept priorities
+ * that are not lower than the last dequeued one. This is always the case
+ * for Dijkstra and for A* with a consistent heuristic.
+ *
+ * @param <T> the type of the values in the heap
+ */
+public interface AddressableHeap<T> {
+
+    /**
+     * @return a handle of the new entry, which stays valid until it is dequeued
+     */
+    Handle<T> enqueue(T value, double priority);
+
+    /**
+     * @return the entry with the lowest priority without removing it
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> min();
+
+    /**
+     * @return the entry with the lowest priority after removing it
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> dequeueMin();
+
+    /**
+     * @param handle      the handle of an entry that is still in the heap
+     * @param newPriority the new priority, which must not exceed the old one
+     */
+    void decreaseKey(Handle<T> handle, double newPriority);
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Removes all entries, so the heap can be reused by another search.
+     * The handles of the removed entries must not be used anymore.
+     */
+    void clear();
+
+    /**
+     * An entry of an {@link AddressableHeap}.
+     *
+     * @param <T> the type of the value
+     */
+    interface Handle<T> {
+
+        T getValue();
+
+        double getPriority();
+
+    }
+
+}
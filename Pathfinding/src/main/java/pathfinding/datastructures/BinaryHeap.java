@@ -0,0 +1,15 @@
+package pathfinding.datastructures;
+
+/**
+ * A classic array-based binary min-heap,
+ * i.e. a {@link DaryHeap} with an arity of 2.
+ *
+ * @param <T> the type of the values in the heap
+ */
+public final class BinaryHeap<T> extends DaryHeap<T> {
+
+    public BinaryHeap() {
+        super(2);
+    }
+
+}
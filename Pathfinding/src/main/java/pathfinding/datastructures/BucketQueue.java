@@ -0,0 +1,155 @@
+package pathfinding.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone bucket queue for small non-negative integer priorities,
+ * as used by Dial's algorithm. Every priority has its own bucket,
+ * so enqueue, decrease-key and dequeueMin run in O(1),
+ * apart from skipping empty buckets, which is bounded by the
+ * highest priority in total.
+ * <p>
+ * This is ideal for unit-cost domains like the 15 puzzle,
+ * where the priorities are whole numbers well below a hundred.
+ * Entries with the same priority are dequeued last in, first out,
+ * which makes A* prefer the deeper of equally promising vertices.
+ * <p>
+ * The queue is monotone: priorities must not be lower than
+ * the last minimum that was dequeued or peeked at.
+ *
+ * @param <T> the type of the values in the queue
+ */
+public final class BucketQueue<T> implements AddressableHeap<T> {
+
+    private static final int INITIAL_BUCKET_COUNT = 64;
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] buckets = (Node<T>[]) new Node<?>[INITIAL_BUCKET_COUNT];
+    private int minBucket;
+    private int size;
+
+    @Override
+    public Handle<T> enqueue(T value, double priority) {
+        var node = new Node<>(value, toBucket(priority));
+        insert(node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+
+        while (buckets[minBucket] == null) {
+            minBucket++;
+        }
+
+        return buckets[minBucket];
+    }
+
+    @Override
+    public Handle<T> dequeueMin() {
+        var min = (Node<T>) min();
+        remove(min);
+        size--;
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, double newPriority) {
+        var node = (Node<T>) handle;
+        int bucket = toBucket(newPriority);
+
+        if (bucket > node.bucket) {
+            throw new IllegalArgumentException("New priority exceeds old.");
+        }
+
+        remove(node);
+        node.bucket = bucket;
+        insert(node);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        // the buckets below the minimum are always empty
+        Arrays.fill(buckets, minBucket, buckets.length, null);
+        minBucket = 0;
+        size = 0;
+    }
+
+    private int toBucket(double priority) {
+        if (priority != Math.rint(priority) || priority < minBucket || priority >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(STR."\{priority} is invalid for a monotone bucket queue.");
+        }
+
+        return (int) priority;
+    }
+
+    private void insert(Node<T> node) {
+        if (node.bucket >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(node.bucket + 1, 2 * buckets.length));
+        }
+
+        node.previous = null;
+        node.next = buckets[node.bucket];
+
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+
+        buckets[node.bucket] = node;
+    }
+
+    private void remove(Node<T> node) {
+        if (node.previous == null) {
+            buckets[node.bucket] = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> implements Handle<T> {
+
+        private final T value;
+        private int bucket;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(T value, int bucket) {
+            this.value = value;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public double getPriority() {
+            return bucket;
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package pathfinding.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An implicit d-ary min-heap stored in a single array.
+ * Every node knows its position inside the array,
+ * so decrease-key runs in O(log_d n).
+ * <p>
+ * A higher arity makes the heap shallower, which speeds up
+ * enqueue and decrease-key at the cost of dequeueMin.
+ * Since best-first searches usually relax many more edges than
+ * they dequeue vertices, an arity of 4 is a good default.
+ *
+ * @param <T> the type of the values in the heap
+ */
+public class DaryHeap<T> implements AddressableHeap<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int arity;
+    private Node<T>[] nodes;
+    private int size;
+
+    public DaryHeap() {
+        this(4);
+    }
+
+    /**
+     * @param arity the maximum number of children of a node
+     */
+    @SuppressWarnings("unchecked")
+    public DaryHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity must be at least 2.");
+        }
+
+        this.arity = arity;
+        this.nodes = (Node<T>[]) new Node<?>[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public Handle<T> enqueue(T value, double priority) {
+        checkPriority(priority);
+
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, 2 * size);
+        }
+
+        var node = new Node<>(value, priority, size);
+        nodes[size++] = node;
+        siftUp(node);
+        return node;
+    }
+
+    @Override
+    public Handle<T> min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        return nodes[0];
+    }
+
+    @Override
+    public Handle<T> dequeueMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        var min = nodes[0];
+        var last = nodes[--size];
+        nodes[size] = null;
+
+        if (size > 0) {
+            last.position = 0;
+            nodes[0] = last;
+            siftDown(last);
+        }
+
+        min.position = -1;
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, double newPriority) {
+        checkPriority(newPriority);
+        var node = (Node<T>) handle;
+
+        if (newPriority > node.priority) {
+            throw new IllegalArgumentException("New priority exceeds old.");
+        }
+
+        node.priority = newPriority;
+        siftUp(node);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    private void siftUp(Node<T> node) {
+        int position = node.position;
+
+        while (position > 0) {
+            int parentPosition = (position - 1) / arity;
+            var parent = nodes[parentPosition];
+
+            if (parent.priority <= node.priority) {
+                break;
+            }
+
+            parent.position = position;
+            nodes[position] = parent;
+            position = parentPosition;
+        }
+
+        node.position = position;
+        nodes[position] = node;
+    }
+
+    private void siftDown(Node<T> node) {
+        int position = node.position;
+
+        while (true) {
+            int firstChild = arity * position + 1;
+
+            if (firstChild >= size) {
+                break;
+            }
+
+            int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (nodes[child].priority < nodes[minChild].priority) {
+                    minChild = child;
+                }
+            }
+
+            if (node.priority <= nodes[minChild].priority) {
+                break;
+            }
+
+            nodes[minChild].position = position;
+            nodes[position] = nodes[minChild];
+            position = minChild;
+        }
+
+        node.position = position;
+        nodes[position] = node;
+    }
+
+    private static void checkPriority(double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException(STR."\{priority} is invalid.");
+        }
+    }
+
+    private static final class Node<T> implements Handle<T> {
+
+        private final T value;
+        private double priority;
+        private int position;
+
+        private Node(T value, double priority, int position) {
+            this.value = value;
+            this.priority = priority;
+            this.position = position;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public double getPriority() {
+            return priority;
+        }
+
+    }
+
+}
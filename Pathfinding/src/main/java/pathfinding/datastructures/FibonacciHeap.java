@@ -61,7 +61,7 @@ import java.util.NoSuchElementException;
  * @param T The type of elements to store in the heap.
  * @author Keith Schwarz (htiek@cs.stanford.edu)
  */
-public final class FibonacciHeap<T> {
+public final class FibonacciHeap<T> implements AddressableHeap<T> {
 
     /* Pointer to the minimum element in the heap. */
     private Entry<T> mMin = null;
@@ -180,6 +180,7 @@ public final class FibonacciHeap<T> {
      * @param priority Its priority, which must be valid.
      * @return An Entry representing that element in the tree.
      */
+    @Override
     public Entry<T> enqueue(T value, double priority) {
         checkPriority(priority);
 
@@ -206,6 +207,7 @@ public final class FibonacciHeap<T> {
      * @return The smallest element of the heap.
      * @throws NoSuchElementException If the heap is empty.
      */
+    @Override
     public Entry<T> min() {
         if (isEmpty())
             throw new NoSuchElementException("Heap is empty.");
@@ -217,6 +219,7 @@ public final class FibonacciHeap<T> {
      *
      * @return Whether the heap is empty.
      */
+    @Override
     public boolean isEmpty() {
         return mMin == null;
     }
@@ -226,10 +229,17 @@ public final class FibonacciHeap<T> {
      *
      * @return The number of elements in the heap.
      */
+    @Override
     public int size() {
         return mSize;
     }
 
+    @Override
+    public void clear() {
+        mMin = null;
+        mSize = 0;
+    }
+
     /**
      * Dequeues and returns the minimum element of the Fibonacci heap.  If the
      * heap is empty, this throws a NoSuchElementException.
@@ -237,6 +247,7 @@ public final class FibonacciHeap<T> {
      * @return The smallest element of the Fibonacci heap.
      * @throws NoSuchElementException If the heap is empty.
      */
+    @Override
     public Entry<T> dequeueMin() {
         /* Check for whether we're empty. */
         if (isEmpty())
@@ -400,6 +411,11 @@ public final class FibonacciHeap<T> {
         decreaseKeyUnchecked(entry, newPriority);
     }
 
+    @Override
+    public void decreaseKey(Handle<T> handle, double newPriority) {
+        decreaseKey((Entry<T>) handle, newPriority);
+    }
+
     /**
      * Deletes this Entry from the Fibonacci heap that contains it.
      * <p>
@@ -521,7 +537,7 @@ public final class FibonacciHeap<T> {
      * we guard against external modification by marking the internal fields
      * private.
      */
-    public static final class Entry<T> {
+    public static final class Entry<T> implements Handle<T> {
 
         private int mDegree = 0;       // Number of children
         private boolean mIsMarked = false; // Whether this node is marked
@@ -554,6 +570,7 @@ public final class FibonacciHeap<T> {
          *
          * @return The element represented by this heap entry.
          */
+        @Override
         public T getValue() {
             return mElem;
         }
@@ -572,6 +589,7 @@ public final class FibonacciHeap<T> {
          *
          * @return The priority of this element.
          */
+        @Override
         public double getPriority() {
             return mPriority;
         }
@@ -0,0 +1,178 @@
+package pathfinding.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed binary min-heap of the ids {@code [0, capacity)}
+ * with primitive double priorities.
+ * The position of every id inside the heap is tracked,
+ * so every id is contained at most once and its priority
+ * can be decreased in O(log n) instead of enqueueing it again.
+ */
+public final class IntBinaryHeap {
+
+    private static final int ABSENT = -1;
+
+    private int[] heap;
+    private double[] priorities;
+    private int[] positions;
+    private int size;
+
+    public IntBinaryHeap(int capacity) {
+        heap = new int[capacity];
+        priorities = new double[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Makes sure the ids {@code [0, capacity)} can be enqueued.
+     *
+     * @param capacity the exclusive upper bound of the ids
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > positions.length) {
+            int oldCapacity = positions.length;
+            heap = Arrays.copyOf(heap, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, oldCapacity, capacity, ABSENT);
+        }
+    }
+
+    /**
+     * Removes all ids in O(size) instead of O(capacity).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] != ABSENT;
+    }
+
+    /**
+     * Inserts the id with the given priority, or updates its priority
+     * if it is already contained and the new priority is lower.
+     *
+     * @return whether the heap has been changed
+     */
+    public boolean enqueue(int id, double priority) {
+        int position = positions[id];
+
+        if (position == ABSENT) {
+            priorities[id] = priority;
+            heap[size] = id;
+            positions[id] = size;
+            siftUp(size++);
+            return true;
+        }
+
+        if (priority < priorities[id]) {
+            priorities[id] = priority;
+            siftUp(position);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the id with the lowest priority without removing it
+     */
+    public int min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * @return the lowest priority in the heap
+     */
+    public double minPriority() {
+        return priorities[min()];
+    }
+
+    /**
+     * @return the id with the lowest priority after removing it
+     */
+    public int dequeueMin() {
+        int min = min();
+        positions[min] = ABSENT;
+        size--;
+
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double priority = priorities[id];
+
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+
+            if (priorities[parent] <= priority) {
+                break;
+            }
+
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double priority = priorities[id];
+        int half = size >>> 1;
+
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+
+            if (rightPosition < size && priorities[heap[rightPosition]] < priorities[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+
+            if (priority <= priorities[child]) {
+                break;
+            }
+
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+}
@@ -0,0 +1,202 @@
+package pathfinding.datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap, i.e. a self-adjusting heap-ordered multiway tree.
+ * Enqueue and decrease-key just meld a tree into the root in O(1),
+ * dequeueMin merges the children of the root in two passes
+ * in amortized O(log n). It is much simpler than a {@link FibonacciHeap}
+ * and usually faster in practice.
+ *
+ * @param <T> the type of the values in the heap
+ */
+public final class PairingHeap<T> implements AddressableHeap<T> {
+
+    private final List<Node<T>> pairs = new ArrayList<>();
+    private Node<T> root;
+    private int size;
+
+    @Override
+    public Handle<T> enqueue(T value, double priority) {
+        checkPriority(priority);
+        var node = new Node<>(value, priority);
+        root = meld(root, node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        return root;
+    }
+
+    @Override
+    public Handle<T> dequeueMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        var min = root;
+        root = mergePairs(min.child);
+        min.child = null;
+        size--;
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, double newPriority) {
+        checkPriority(newPriority);
+        var node = (Node<T>) handle;
+
+        if (newPriority > node.priority) {
+            throw new IllegalArgumentException("New priority exceeds old.");
+        }
+
+        node.priority = newPriority;
+
+        if (node != root) {
+            cut(node);
+            root = meld(root, node);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Detaches the subtree of the node from its parent.
+     */
+    private static <T> void cut(Node<T> node) {
+        if (node.previous.child == node) {
+            node.previous.child = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Makes the root with the higher priority the leftmost child of the other one.
+     *
+     * @return the root of the melded tree
+     */
+    private static <T> Node<T> meld(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+
+        if (second == null) {
+            return first;
+        }
+
+        if (second.priority < first.priority) {
+            var temp = first;
+            first = second;
+            second = temp;
+        }
+
+        second.next = first.child;
+
+        if (first.child != null) {
+            first.child.previous = second;
+        }
+
+        second.previous = first;
+        first.child = second;
+        return first;
+    }
+
+    /**
+     * Melds the siblings pairwise from left to right,
+     * then melds the pairs from right to left.
+     *
+     * @return the root of the resulting tree
+     */
+    private Node<T> mergePairs(Node<T> first) {
+        var node = first;
+
+        while (node != null) {
+            var sibling = node.next;
+            var next = (sibling == null) ? null : sibling.next;
+            node.previous = node.next = null;
+
+            if (sibling != null) {
+                sibling.previous = sibling.next = null;
+            }
+
+            pairs.add(meld(node, sibling));
+            node = next;
+        }
+
+        Node<T> result = null;
+
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            result = meld(pairs.get(i), result);
+        }
+
+        pairs.clear();
+        return result;
+    }
+
+    private static void checkPriority(double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException(STR."\{priority} is invalid.");
+        }
+    }
+
+    private static final class Node<T> implements Handle<T> {
+
+        private final T value;
+        private double priority;
+        private Node<T> child;
+        private Node<T> next;
+
+        /**
+         * The previous sibling, or the parent if this is the leftmost child.
+         */
+        private Node<T> previous;
+
+        private Node(T value, double priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public double getPriority() {
+            return priority;
+        }
+
+    }
+
+}
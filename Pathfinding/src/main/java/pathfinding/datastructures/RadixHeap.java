@@ -0,0 +1,186 @@
+package pathfinding.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone radix heap for non-negative priorities.
+ * <p>
+ * The bits of non-negative doubles are ordered like the doubles themselves,
+ * so the entries are distributed into 65 buckets by the highest bit in which
+ * their priority differs from the last minimum. Only when bucket 0 is empty,
+ * the first non-empty bucket is redistributed into the lower ones.
+ * Every entry can only move down 64 times, so all operations
+ * take amortized O(1) time, and they only touch plain linked lists.
+ * <p>
+ * The heap is monotone: priorities must not be lower than
+ * the last minimum that was dequeued or peeked at.
+ *
+ * @param <T> the type of the values in the heap
+ */
+public final class RadixHeap<T> implements AddressableHeap<T> {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    @SuppressWarnings("unchecked")
+    private final Node<T>[] buckets = (Node<T>[]) new Node<?>[BUCKET_COUNT];
+    private long lastKey;
+    private int size;
+
+    @Override
+    public Handle<T> enqueue(T value, double priority) {
+        var node = new Node<>(value, toKey(priority));
+        insert(node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+
+        redistribute();
+        return buckets[0];
+    }
+
+    @Override
+    public Handle<T> dequeueMin() {
+        var min = (Node<T>) min();
+        remove(min);
+        size--;
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, double newPriority) {
+        var node = (Node<T>) handle;
+        long key = toKey(newPriority);
+
+        if (key > node.key) {
+            throw new IllegalArgumentException("New priority exceeds old.");
+        }
+
+        remove(node);
+        node.key = key;
+        insert(node);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buckets, null);
+        lastKey = 0;
+        size = 0;
+    }
+
+    private long toKey(double priority) {
+        // adding 0.0 turns -0.0 into 0.0
+        long key = Double.doubleToLongBits(priority + 0.0);
+
+        if (Double.isNaN(priority) || priority < 0 || key < lastKey) {
+            throw new IllegalArgumentException(STR."\{priority} is invalid for a monotone radix heap.");
+        }
+
+        return key;
+    }
+
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+    }
+
+    /**
+     * Makes sure bucket 0 contains the minimum, if the heap is not empty.
+     */
+    private void redistribute() {
+        if (buckets[0] != null) {
+            return;
+        }
+
+        int bucket = 1;
+
+        while (buckets[bucket] == null) {
+            bucket++;
+        }
+
+        var node = buckets[bucket];
+        long minKey = node.key;
+
+        for (var next = node.next; next != null; next = next.next) {
+            minKey = Math.min(minKey, next.key);
+        }
+
+        lastKey = minKey;
+        buckets[bucket] = null;
+
+        while (node != null) {
+            var next = node.next;
+            insert(node);
+            node = next;
+        }
+    }
+
+    private void insert(Node<T> node) {
+        int bucket = bucketOf(node.key);
+        node.bucket = bucket;
+        node.previous = null;
+        node.next = buckets[bucket];
+
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+
+        buckets[bucket] = node;
+    }
+
+    private void remove(Node<T> node) {
+        if (node.previous == null) {
+            buckets[node.bucket] = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> implements Handle<T> {
+
+        private final T value;
+        private long key;
+        private int bucket;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(T value, long key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public double getPriority() {
+            return Double.longBitsToDouble(key);
+        }
+
+    }
+
+}
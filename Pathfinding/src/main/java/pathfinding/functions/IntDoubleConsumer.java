@@ -0,0 +1,13 @@
+package pathfinding.functions;
+
+/**
+ * Represents an operation that accepts an int and a double
+ * without boxing either of them, e.g. the id of a neighbor
+ * and the weight of the edge leading to it.
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    void accept(int value, double weight);
+
+}
@@ -0,0 +1,41 @@
+package pathfinding.functions;
+
+import pathfinding.graphs.IndexedGraph;
+import pathfinding.service.EndCondition;
+import pathfinding.service.IntEndCondition;
+
+/**
+ * Represents a heuristic function that estimates
+ * the cost of the shortest path from a given vertex id
+ * to the vertex id that satisfies the given end condition.
+ * <p>
+ * This is the primitive counterpart of {@link Heuristic}.
+ */
+@FunctionalInterface
+public interface IntHeuristic {
+
+    double applyAsDouble(int vertex, IntEndCondition endCondition);
+
+    /**
+     * Adapts a generic heuristic to vertex ids by looking up the
+     * vertices in the given graph. This is convenient, but it boxes
+     * on every call, so performance critical heuristics should rather
+     * implement this interface directly.
+     *
+     * @param heuristic the heuristic working on the vertices
+     * @param graph     the graph that assigns the ids to the vertices
+     * @return a heuristic working on the ids of the vertices
+     */
+    static <T> IntHeuristic of(Heuristic<T> heuristic, IndexedGraph<T> graph) {
+        return (vertex, endCondition) -> {
+            var endVertex = endCondition.vertex();
+
+            var genericEndCondition = (endVertex.isPresent())
+                    ? EndCondition.endAt(graph.vertexAt(endVertex.getAsInt()))
+                    : EndCondition.<T>endIf(v -> endCondition.condition().test(graph.indexOf(v)));
+
+            return heuristic.applyAsDouble(graph.vertexAt(vertex), genericEndCondition);
+        };
+    }
+
+}
@@ -0,0 +1,400 @@
+package pathfinding.functions;
+
+import pathfinding.datastructures.IntBinaryHeap;
+import pathfinding.graphs.IndexedGraph;
+import pathfinding.graphs.IntGraph;
+import pathfinding.service.EndCondition;
+import pathfinding.service.IntEndCondition;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * The ALT heuristic (A*, landmarks and the triangle inequality)
+ * for arbitrary graphs, e.g. when there are no coordinates
+ * or the Euclidean distance is a poor estimate.
+ * <p>
+ * The shortest distances from and to a few landmark vertices are
+ * computed once. For every landmark L, the triangle inequality yields
+ * the lower bounds {@code d(L, t) - d(L, v)} and {@code d(v, L) - d(t, L)}
+ * of the distance from v to t, and the heuristic is the highest of them.
+ * It is admissible and consistent, and it is most informed for
+ * vertices lying behind a landmark as seen from the end.
+ * <p>
+ * The distances are stored vertex by vertex in primitive arrays,
+ * so the memory is {@code 2 * landmarkCount * vertexCount} doubles.
+ * The graph must not change after the heuristic has been created.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class LandmarkHeuristic<T> implements Heuristic<T>, IntHeuristic {
+
+    private static final long ROOT_SEED = 0x5DEECE66DL;
+
+    private final IndexedGraph<T> graph;
+    private final int[] landmarks;
+
+    // the distances at [vertex * landmarkCount + landmark]
+    private final double[] fromLandmarks;
+    private final double[] toLandmarks;
+
+    /**
+     * How the landmarks are chosen.
+     */
+    public enum Selection {
+
+        /**
+         * Every landmark is the vertex farthest
+         * from the landmarks chosen before it.
+         */
+        FARTHEST,
+
+        /**
+         * Every landmark is chosen in the region of a shortest path tree from a
+         * random root where the current landmarks give the worst lower bounds,
+         * as proposed by Goldberg and Werneck. This is slower to preprocess,
+         * but usually yields better bounds than {@link #FARTHEST}.
+         */
+        AVOID
+
+    }
+
+    private LandmarkHeuristic(IndexedGraph<T> graph, int landmarkCount) {
+        this.graph = graph;
+        this.landmarks = new int[landmarkCount];
+        this.fromLandmarks = new double[graph.getVertexCount() * landmarkCount];
+        this.toLandmarks = new double[graph.getVertexCount() * landmarkCount];
+    }
+
+    /**
+     * Creates the heuristic with landmarks chosen by {@link Selection#AVOID}.
+     */
+    public static <T> LandmarkHeuristic<T> of(IndexedGraph<T> graph, int landmarkCount) {
+        return of(graph, landmarkCount, Selection.AVOID);
+    }
+
+    /**
+     * Chooses the landmarks and computes the distances from and to them,
+     * which takes two one-to-all Dijkstra searches per landmark.
+     *
+     * @param graph         the graph to estimate distances in
+     * @param landmarkCount the number of landmarks, e.g. 8 or 16
+     * @param selection     how the landmarks are chosen
+     * @return the heuristic for the graph
+     */
+    public static <T> LandmarkHeuristic<T> of(IndexedGraph<T> graph, int landmarkCount, Selection selection) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("There must be at least one landmark.");
+        }
+
+        int count = Math.min(landmarkCount, graph.getVertexCount());
+        var heuristic = new LandmarkHeuristic<>(graph, count);
+        new Preprocessor(graph, heuristic).selectLandmarks(selection);
+        return heuristic;
+    }
+
+    /**
+     * @return the chosen landmarks in the order they were chosen
+     */
+    public List<T> getLandmarks() {
+        return IntStream.of(landmarks)
+                .mapToObj(graph::vertexAt)
+                .toList();
+    }
+
+    @Override
+    public double applyAsDouble(T vertex, EndCondition<T> endCondition) {
+        var end = endCondition.vertex();
+
+        if (end.isEmpty()) {
+            return 0;
+        }
+
+        int id = graph.indexOf(vertex);
+        int endId = graph.indexOf(end.get());
+        return (id == -1 || endId == -1) ? 0 : estimate(id, endId, landmarks.length);
+    }
+
+    @Override
+    public double applyAsDouble(int vertex, IntEndCondition endCondition) {
+        var end = endCondition.vertex();
+        return (end.isPresent()) ? estimate(vertex, end.getAsInt(), landmarks.length) : 0;
+    }
+
+    /**
+     * @return the best lower bound of the distance
+     * from the vertex to the end using the first landmarks
+     */
+    private double estimate(int vertex, int end, int landmarkCount) {
+        int stride = landmarks.length;
+        int vertexOffset = vertex * stride;
+        int endOffset = end * stride;
+        double estimate = 0;
+
+        for (int i = 0; i < landmarkCount; i++) {
+            double forwardBound = fromLandmarks[endOffset + i] - fromLandmarks[vertexOffset + i];
+            double backwardBound = toLandmarks[vertexOffset + i] - toLandmarks[endOffset + i];
+
+            // infinite distances only allow for infinite or undefined bounds, which are useless
+            if (forwardBound > estimate && forwardBound != Double.POSITIVE_INFINITY) {
+                estimate = forwardBound;
+            }
+
+            if (backwardBound > estimate && backwardBound != Double.POSITIVE_INFINITY) {
+                estimate = backwardBound;
+            }
+        }
+
+        return estimate;
+    }
+
+    /**
+     * The forward and reversed adjacencies of the graph
+     * and the one-to-all searches running on them.
+     */
+    private static final class Preprocessor {
+
+        private final LandmarkHeuristic<?> heuristic;
+        private final int vertexCount;
+        private final Adjacency forward;
+        private final Adjacency backward;
+        private final IntBinaryHeap open;
+        private final double[] distances;
+        private final int[] parents;
+
+        // the vertices in the order they were settled by the last search
+        private final int[] settled;
+        private int settledCount;
+
+        private Preprocessor(IntGraph graph, LandmarkHeuristic<?> heuristic) {
+            this.heuristic = heuristic;
+            this.vertexCount = graph.getVertexCount();
+            this.forward = Adjacency.of(graph, false);
+            this.backward = Adjacency.of(graph, true);
+            this.open = new IntBinaryHeap(vertexCount);
+            this.distances = new double[vertexCount];
+            this.parents = new int[vertexCount];
+            this.settled = new int[vertexCount];
+        }
+
+        private void selectLandmarks(Selection selection) {
+            var random = new Random(ROOT_SEED);
+
+            for (int i = 0; i < heuristic.landmarks.length; i++) {
+                int landmark = switch (selection) {
+                    case FARTHEST -> findFarthest(i);
+                    case AVOID -> findAvoided(i, random.nextInt(vertexCount));
+                };
+
+                addLandmark(i, landmark);
+            }
+        }
+
+        private void addLandmark(int index, int landmark) {
+            int stride = heuristic.landmarks.length;
+            heuristic.landmarks[index] = landmark;
+
+            search(forward, landmark);
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                heuristic.fromLandmarks[vertex * stride + index] = distances[vertex];
+            }
+
+            search(backward, landmark);
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                heuristic.toLandmarks[vertex * stride + index] = distances[vertex];
+            }
+        }
+
+        /**
+         * Prefers vertices that no landmark can reach at all,
+         * so every component of the graph gets a landmark.
+         *
+         * @return the vertex farthest from the first landmarks, or
+         * the farthest one from vertex 0 if there are none yet
+         */
+        private int findFarthest(int landmarkCount) {
+            if (landmarkCount == 0) {
+                search(forward, 0);
+                return settled[settledCount - 1];
+            }
+
+            int stride = heuristic.landmarks.length;
+            int farthest = -1;
+            double maxDistance = -1;
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                double distance = Double.POSITIVE_INFINITY;
+
+                for (int i = 0; i < landmarkCount; i++) {
+                    distance = Math.min(distance, heuristic.fromLandmarks[vertex * stride + i]);
+                }
+
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = vertex;
+                }
+            }
+
+            return farthest;
+        }
+
+        /**
+         * Weights every vertex in the shortest path tree of the root by how much
+         * the first landmarks underestimate its distance from the root, and sums
+         * the weights of the subtrees, ignoring those that contain a landmark.
+         * Then it descends from the root to the heaviest child until a leaf,
+         * which is where the lower bounds are the worst.
+         *
+         * @return the next landmark
+         */
+        private int findAvoided(int landmarkCount, int root) {
+            search(forward, root);
+            var sizes = new double[vertexCount];
+            var hasLandmark = new boolean[vertexCount];
+
+            for (int i = 0; i < landmarkCount; i++) {
+                hasLandmark[heuristic.landmarks[i]] = true;
+            }
+
+            for (int i = settledCount - 1; i >= 0; i--) {
+                int vertex = settled[i];
+                int parent = parents[vertex];
+
+                if (hasLandmark[vertex]) {
+                    sizes[vertex] = 0;
+                } else {
+                    sizes[vertex] += distances[vertex] - heuristic.estimate(root, vertex, landmarkCount);
+                }
+
+                if (parent != -1) {
+                    hasLandmark[parent] |= hasLandmark[vertex];
+                    sizes[parent] += sizes[vertex];
+                }
+            }
+
+            if (sizes[root] == 0) {
+                // the tree is covered already, e.g. the root is a landmark
+                return findFarthest(landmarkCount);
+            }
+
+            var children = Adjacency.ofTree(parents, settled, settledCount);
+            int current = root;
+
+            while (true) {
+                int heaviest = children.findHeaviestTarget(current, sizes);
+
+                if (heaviest == -1) {
+                    return current;
+                }
+
+                current = heaviest;
+            }
+        }
+
+        /**
+         * A one-to-all Dijkstra filling the distances, parents and settled vertices.
+         */
+        private void search(Adjacency adjacency, int source) {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            open.clear();
+            settledCount = 0;
+            distances[source] = 0;
+            parents[source] = -1;
+            open.enqueue(source, 0);
+
+            while (!open.isEmpty()) {
+                int vertex = open.dequeueMin();
+                settled[settledCount++] = vertex;
+
+                for (int edge = adjacency.offsets[vertex]; edge < adjacency.offsets[vertex + 1]; edge++) {
+                    int target = adjacency.targets[edge];
+                    double tentative = distances[vertex] + adjacency.weights[edge];
+
+                    if (tentative < distances[target]) {
+                        distances[target] = tentative;
+                        parents[target] = vertex;
+                        open.enqueue(target, tentative);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A compressed adjacency list, possibly with reversed edges.
+     */
+    private record Adjacency(int[] offsets, int[] targets, double[] weights) {
+
+        private static Adjacency of(IntGraph graph, boolean reversed) {
+            int vertexCount = graph.getVertexCount();
+            var offsets = new int[vertexCount + 1];
+
+            for (int source = 0; source < vertexCount; source++) {
+                int from = source;
+                graph.forEachNeighborId(source, (destination, _) -> offsets[((reversed) ? destination : from) + 1]++);
+            }
+
+            Arrays.parallelPrefix(offsets, Integer::sum);
+            var targets = new int[offsets[vertexCount]];
+            var weights = new double[offsets[vertexCount]];
+            var next = Arrays.copyOf(offsets, vertexCount);
+
+            for (int source = 0; source < vertexCount; source++) {
+                int from = source;
+
+                graph.forEachNeighborId(source, (destination, weight) -> {
+                    int edge = next[(reversed) ? destination : from]++;
+                    targets[edge] = (reversed) ? from : destination;
+                    weights[edge] = weight;
+                });
+            }
+
+            return new Adjacency(offsets, targets, weights);
+        }
+
+        /**
+         * @return the edges from every parent to its children
+         */
+        private static Adjacency ofTree(int[] parents, int[] vertices, int vertexCount) {
+            var offsets = new int[parents.length + 1];
+
+            for (int i = 1; i < vertexCount; i++) {
+                offsets[parents[vertices[i]] + 1]++;
+            }
+
+            Arrays.parallelPrefix(offsets, Integer::sum);
+            var targets = new int[vertexCount - 1];
+            var next = Arrays.copyOf(offsets, parents.length);
+
+            for (int i = 1; i < vertexCount; i++) {
+                targets[next[parents[vertices[i]]]++] = vertices[i];
+            }
+
+            return new Adjacency(offsets, targets, null);
+        }
+
+        /**
+         * @return the target with the highest positive size, or -1 if there is none
+         */
+        private int findHeaviestTarget(int source, double[] sizes) {
+            int heaviest = -1;
+            double maxSize = 0;
+
+            for (int edge = offsets[source]; edge < offsets[source + 1]; edge++) {
+                if (sizes[targets[edge]] > maxSize) {
+                    maxSize = sizes[targets[edge]];
+                    heaviest = targets[edge];
+                }
+            }
+
+            return heaviest;
+        }
+
+    }
+
+}
@@ -0,0 +1,17 @@
+package pathfinding.functions;
+
+import pathfinding.games.PackedFifteenPuzzle;
+import pathfinding.service.EndCondition;
+
+/**
+ * The {@link FifteenPuzzleHeuristic} for packed states.
+ **/
+public class PackedFifteenPuzzleHeuristic implements Heuristic<Long> {
+
+    @Override
+    public double applyAsDouble(Long state, EndCondition<Long> endCondition) {
+        var vertex = endCondition.vertex().orElseThrow();
+        return PackedFifteenPuzzle.getLeastMoveCountTo(state, vertex);
+    }
+
+}
@@ -33,6 +33,14 @@ public class FifteenPuzzleBoard {
         this.emptyValue = area();
     }
 
+    /**
+     * @param board the rows of the board, the empty tile has the value {@code size * size}
+     * @return a board with a copy of the given rows
+     */
+    public static FifteenPuzzleBoard of(int[][] board) {
+        return new FifteenPuzzleBoard(board);
+    }
+
     private void fillBoard(int size) {
         for (int j = 0; j < size; j++) {
             for (int i = 0; i < size; i++) {
@@ -0,0 +1,145 @@
+package pathfinding.games;
+
+/**
+ * Utility class for 4x4 fifteen puzzles packed into a single {@code long}.
+ * <p>
+ * The tile at the flat index {@code i} is stored in the nibble
+ * at bit {@code 4 * i}, the empty tile is stored as 0.
+ * A packed state needs no allocation at all, and comparing
+ * or hashing it is as cheap as it gets for a {@code long}.
+ */
+public final class PackedFifteenPuzzle {
+
+    public static final int LENGTH = 4;
+    public static final int AREA = LENGTH * LENGTH;
+
+    /**
+     * The solved puzzle, i.e. the tiles 1 to 15 in order and the empty tile last.
+     */
+    public static final long SOLVED = 0x0FEDCBA987654321L;
+
+    /**
+     * Returned by {@link #move(long, Direction)} if the move is not possible.
+     * It is not a valid state, because every tile would be 15.
+     */
+    public static final long NO_MOVE = -1;
+
+    private static final int EMPTY = 0;
+
+    private PackedFifteenPuzzle() {
+    }
+
+    /**
+     * @param puzzle a puzzle with a 4x4 board
+     * @return the packed state of the puzzle
+     */
+    public static long pack(FifteenPuzzle puzzle) {
+        var board = puzzle.board();
+
+        if (board.getLength() != LENGTH) {
+            throw new IllegalArgumentException(STR."Only \{LENGTH}x\{LENGTH} boards can be packed.");
+        }
+
+        long state = 0;
+
+        for (int index = 0; index < AREA; index++) {
+            int value = board.get(index / LENGTH, index % LENGTH);
+            int tile = (value == board.getEmptyValue()) ? EMPTY : value;
+            state |= (long) tile << (4 * index);
+        }
+
+        return state;
+    }
+
+    /**
+     * @param state the packed state
+     * @return a new puzzle with the tiles of the state
+     */
+    public static FifteenPuzzle unpack(long state) {
+        var rows = new int[LENGTH][LENGTH];
+
+        for (int index = 0; index < AREA; index++) {
+            int tile = get(state, index);
+            rows[index / LENGTH][index % LENGTH] = (tile == EMPTY) ? AREA : tile;
+        }
+
+        return new FifteenPuzzle(FifteenPuzzleBoard.of(rows));
+    }
+
+    /**
+     * @return the tile at the flat index, 0 for the empty tile
+     */
+    public static int get(long state, int index) {
+        return (int) (state >>> (4 * index)) & 0xF;
+    }
+
+    public static int findEmptyIndex(long state) {
+        for (int index = 0; index < AREA; index++) {
+            if (get(state, index) == EMPTY) {
+                return index;
+            }
+        }
+
+        throw new IllegalArgumentException("The state has no empty tile.");
+    }
+
+    /**
+     * Moves the tile next to the empty tile in the given direction,
+     * just like {@link FifteenPuzzleBoard#move(Direction)}.
+     *
+     * @return the new state, or {@link #NO_MOVE} if there is no tile to be moved
+     */
+    public static long move(long state, Direction direction) {
+        return move(state, findEmptyIndex(state), direction);
+    }
+
+    /**
+     * Same as {@link #move(long, Direction)}, but
+     * the index of the empty tile is already known.
+     */
+    public static long move(long state, int emptyIndex, Direction direction) {
+        int x = emptyIndex % LENGTH;
+        int y = emptyIndex / LENGTH;
+
+        int tileIndex = switch (direction) {
+            case UP -> (y < LENGTH - 1) ? emptyIndex + LENGTH : -1;
+            case DOWN -> (y > 0) ? emptyIndex - LENGTH : -1;
+            case LEFT -> (x < LENGTH - 1) ? emptyIndex + 1 : -1;
+            case RIGHT -> (x > 0) ? emptyIndex - 1 : -1;
+        };
+
+        if (tileIndex < 0) {
+            return NO_MOVE;
+        }
+
+        long tile = get(state, tileIndex);
+        return state & ~(0xFL << (4 * tileIndex)) | tile << (4 * emptyIndex);
+    }
+
+    /**
+     * @return the sum of the Manhattan distances of all
+     * tiles except the empty one to their desired positions
+     */
+    public static int getLeastMoveCountTo(long state, long desired) {
+        var desiredIndices = new int[AREA];
+
+        for (int index = 0; index < AREA; index++) {
+            desiredIndices[get(desired, index)] = index;
+        }
+
+        int count = 0;
+
+        for (int index = 0; index < AREA; index++) {
+            int tile = get(state, index);
+
+            if (tile != EMPTY) {
+                int desiredIndex = desiredIndices[tile];
+                count += Math.abs(index % LENGTH - desiredIndex % LENGTH)
+                        + Math.abs(index / LENGTH - desiredIndex / LENGTH);
+            }
+        }
+
+        return count;
+    }
+
+}
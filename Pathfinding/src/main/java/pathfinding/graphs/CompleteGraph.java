@@ -1,26 +1,173 @@
 package pathfinding.graphs;
 
-import lombok.RequiredArgsConstructor;
+import pathfinding.functions.IntDoubleConsumer;
 
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleBiFunction;
 
 /**
  * A complete graph is a graph in which every pair of vertices is connected by an edge.
+ * <p>
+ * The edges are implicit, their weights are calculated by a weight function
+ * whenever they are needed, so no memory is spent on the V² edges.
+ * Edge lookups take O(1) and the neighbors are a lazy view of the vertices.
  *
  * @param <T> the type of the vertices in the graph
  */
-@RequiredArgsConstructor
-public class CompleteGraph<T> implements Graph<T> {
+public class CompleteGraph<T> implements IndexedGraph<T> {
 
     private final List<T> vertices;
+    private final Map<T, Integer> ids;
+    private final ToDoubleBiFunction<T, T> weightFunction;
+
+    /**
+     * Creates a complete graph in which every edge has a weight of 1.
+     *
+     * @param vertices the distinct vertices of the graph
+     */
+    public CompleteGraph(List<T> vertices) {
+        this(vertices, (_, _) -> 1);
+    }
+
+    /**
+     * @param vertices       the distinct vertices of the graph
+     * @param weightFunction calculates the weight of the edge between two vertices,
+     *                       e.g. their distance in a metric space
+     */
+    public CompleteGraph(List<T> vertices, ToDoubleBiFunction<T, T> weightFunction) {
+        this.vertices = List.copyOf(vertices);
+        this.ids = HashMap.newHashMap(vertices.size());
+        this.weightFunction = weightFunction;
+
+        for (int id = 0; id < this.vertices.size(); id++) {
+            if (ids.putIfAbsent(this.vertices.get(id), id) != null) {
+                throw new IllegalArgumentException(STR."Duplicate vertex \{this.vertices.get(id)}.");
+            }
+        }
+    }
 
     @Override
     public Map<T, Double> getNeighbors(T vertex) {
-        return vertices.stream()
-                .filter(neighbor -> !neighbor.equals(vertex))
-                .collect(Collectors.toMap(neighbor -> neighbor, _ -> 1.0));
+        return (ids.containsKey(vertex)) ? new NeighborView(vertex) : Map.of();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        if (!ids.containsKey(vertex)) {
+            return;
+        }
+
+        for (T neighbor : vertices) {
+            if (!neighbor.equals(vertex)) {
+                action.accept(neighbor, weightFunction.applyAsDouble(vertex, neighbor));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasEdge(T source, T destination) {
+        return !source.equals(destination) && ids.containsKey(source) && ids.containsKey(destination);
+    }
+
+    @Override
+    public int getDegree(T vertex) {
+        return (ids.containsKey(vertex)) ? vertices.size() - 1 : 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T destination) {
+        return (hasEdge(source, destination))
+                ? weightFunction.applyAsDouble(source, destination)
+                : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public int indexOf(T vertex) {
+        return ids.getOrDefault(vertex, -1);
+    }
+
+    @Override
+    public T vertexAt(int id) {
+        return vertices.get(id);
+    }
+
+    @Override
+    public void forEachNeighborId(int id, IntDoubleConsumer action) {
+        T vertex = vertices.get(id);
+
+        for (int neighbor = 0; neighbor < vertices.size(); neighbor++) {
+            if (neighbor != id) {
+                action.accept(neighbor, weightFunction.applyAsDouble(vertex, vertices.get(neighbor)));
+            }
+        }
+    }
+
+    @Override
+    public int getOutDegree(int id) {
+        return vertices.size() - 1;
+    }
+
+    /**
+     * A read-only view of the neighbors of a vertex
+     * that calculates the weights on demand.
+     */
+    private final class NeighborView extends AbstractMap<T, Double> {
+
+        private final T vertex;
+
+        private NeighborView(T vertex) {
+            this.vertex = vertex;
+        }
+
+        @Override
+        public int size() {
+            return vertices.size() - 1;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return ids.containsKey(key) && !vertex.equals(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Double get(Object key) {
+            return (containsKey(key)) ? weightFunction.applyAsDouble(vertex, (T) key) : null;
+        }
+
+        @Override
+        public Set<Entry<T, Double>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return NeighborView.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<T, Double>> iterator() {
+                    return vertices.stream()
+                            .filter(neighbor -> !neighbor.equals(vertex))
+                            .<Entry<T, Double>>map(neighbor -> new SimpleImmutableEntry<>(
+                                    neighbor,
+                                    weightFunction.applyAsDouble(vertex, neighbor)
+                            ))
+                            .iterator();
+                }
+            };
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super T, ? super Double> action) {
+            forEachNeighbor(vertex, action::accept);
+        }
+
     }
 
 }
@@ -0,0 +1,334 @@
+package pathfinding.graphs;
+
+import pathfinding.functions.IntDoubleConsumer;
+
+import java.util.*;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * An immutable snapshot of a graph in compressed sparse row (CSR) format.
+ * Every vertex is assigned a dense id in {@code [0, getVertexCount())}.
+ * The outgoing edges of the vertex with the id {@code i} are stored
+ * at the edge indices {@code [getEdgeStart(i), getEdgeEnd(i))}
+ * of the {@code targets} and {@code weights} arrays,
+ * sorted by the id of their destination.
+ * <p>
+ * Compared to {@link FlexibleGraph}, no boxed weights or hash map
+ * nodes are stored per edge, which makes it a lot smaller
+ * and faster to iterate for large static graphs.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class CompressedGraph<T> implements IndexedGraph<T> {
+
+    private final boolean directed;
+    private final List<T> vertices;
+    private final Map<T, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private CompressedGraph(boolean directed,
+                            List<T> vertices,
+                            Map<T, Integer> ids,
+                            int[] offsets,
+                            int[] targets,
+                            double[] weights) {
+        this.directed = directed;
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a compressed snapshot of the given graph.
+     * Later modifications of the given graph are not reflected.
+     *
+     * @param graph the graph to be compressed
+     * @return the compressed snapshot of the graph
+     */
+    public static <T> CompressedGraph<T> of(ModifiableGraph<T> graph) {
+        var adjacencies = graph.getAdjacencies();
+        var vertices = new ArrayList<T>(adjacencies.size());
+        var ids = HashMap.<T, Integer>newHashMap(adjacencies.size());
+        int edgeCount = 0;
+
+        for (var entry : adjacencies.entrySet()) {
+            assignId(entry.getKey(), vertices, ids);
+            edgeCount += entry.getValue().size();
+        }
+
+        // Edges may point to vertices that have been removed in the meantime
+        for (var neighbors : adjacencies.values()) {
+            for (T neighbor : neighbors.keySet()) {
+                assignId(neighbor, vertices, ids);
+            }
+        }
+
+        var offsets = new int[vertices.size() + 1];
+        var targets = new int[edgeCount];
+        var weights = new double[edgeCount];
+
+        for (int id = 0; id < vertices.size(); id++) {
+            var neighbors = graph.getNeighbors(vertices.get(id));
+            int start = offsets[id];
+            offsets[id + 1] = start + neighbors.size();
+            fillSorted(neighbors, ids, targets, weights, start);
+        }
+
+        return new CompressedGraph<>(
+                graph.isDirected(),
+                Collections.unmodifiableList(vertices),
+                ids,
+                offsets,
+                targets,
+                weights
+        );
+    }
+
+    private static <T> void assignId(T vertex, List<T> vertices, Map<T, Integer> ids) {
+        if (!ids.containsKey(vertex)) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+    }
+
+    /**
+     * Writes the neighbors into the arrays beginning at the given index,
+     * sorted by their ids. The id and the original index are packed
+     * into a single long, so no boxed comparator is needed for sorting.
+     */
+    private static <T> void fillSorted(Map<T, Double> neighbors,
+                                       Map<T, Integer> ids,
+                                       int[] targets,
+                                       double[] weights,
+                                       int start) {
+        var packed = new long[neighbors.size()];
+        var unsortedWeights = new double[neighbors.size()];
+        int i = 0;
+
+        for (var entry : neighbors.entrySet()) {
+            packed[i] = (long) ids.get(entry.getKey()) << 32 | i;
+            unsortedWeights[i] = entry.getValue();
+            i++;
+        }
+
+        Arrays.sort(packed);
+
+        for (i = 0; i < packed.length; i++) {
+            targets[start + i] = (int) (packed[i] >>> 32);
+            weights[start + i] = unsortedWeights[(int) packed[i]];
+        }
+    }
+
+    @Override
+    public int indexOf(T vertex) {
+        return ids.getOrDefault(vertex, -1);
+    }
+
+    @Override
+    public T vertexAt(int id) {
+        return vertices.get(id);
+    }
+
+    @Override
+    public void forEachNeighborId(int id, IntDoubleConsumer action) {
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+            action.accept(targets[edge], weights[edge]);
+        }
+    }
+
+    /**
+     * @param id the id of the vertex
+     * @return the index of the first outgoing edge of the vertex
+     */
+    public int getEdgeStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param id the id of the vertex
+     * @return the index after the last outgoing edge of the vertex
+     */
+    public int getEdgeEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * @param edge the index of the edge
+     * @return the id of the destination of the edge
+     */
+    public int getEdgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param edge the index of the edge
+     * @return the weight of the edge
+     */
+    public double getEdgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    @Override
+    public int getOutDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param source      the id of the source vertex
+     * @param destination the id of the destination vertex
+     * @return the index of the edge between the two vertices,
+     * or a negative value if there is none
+     */
+    public int findEdge(int source, int destination) {
+        int index = Arrays.binarySearch(
+                targets,
+                offsets[source],
+                offsets[source + 1],
+                destination
+        );
+
+        return Math.max(index, -1);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    public int getEdgeCount() {
+        return (directed) ? targets.length : targets.length / 2;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * @return an unmodifiable List of all the vertices, indexed by their id
+     */
+    public List<T> getVertices() {
+        return vertices;
+    }
+
+    @Override
+    public Map<T, Double> getNeighbors(T vertex) {
+        int id = indexOf(vertex);
+        return (id < 0) ? Collections.emptyMap() : new NeighborView(id);
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        int id = indexOf(vertex);
+
+        if (id < 0) {
+            return;
+        }
+
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+            action.accept(vertices.get(targets[edge]), weights[edge]);
+        }
+    }
+
+    @Override
+    public boolean hasEdge(T source, T destination) {
+        return findEdge(source, destination) >= 0;
+    }
+
+    @Override
+    public int getDegree(T vertex) {
+        int id = indexOf(vertex);
+        return (id < 0) ? 0 : getOutDegree(id);
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T destination) {
+        int edge = findEdge(source, destination);
+        return (edge < 0) ? Double.POSITIVE_INFINITY : weights[edge];
+    }
+
+    private int findEdge(T source, T destination) {
+        int sourceId = indexOf(source);
+        int destinationId = indexOf(destination);
+
+        if (sourceId < 0 || destinationId < 0) {
+            return -1;
+        }
+
+        return findEdge(sourceId, destinationId);
+    }
+
+    /**
+     * A read-only Map view of the outgoing edges of a single vertex,
+     * so the arrays don't have to be copied for {@link #getNeighbors(T)}.
+     */
+    private final class NeighborView extends AbstractMap<T, Double> {
+
+        private final int id;
+
+        private NeighborView(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int size() {
+            return getOutDegree(id);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object key) {
+            return edgeTo((T) key) >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Double get(Object key) {
+            int edge = edgeTo((T) key);
+            return (edge < 0) ? null : weights[edge];
+        }
+
+        private int edgeTo(T vertex) {
+            int destination = indexOf(vertex);
+            return (destination < 0) ? -1 : findEdge(id, destination);
+        }
+
+        @Override
+        public Set<Entry<T, Double>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<T, Double>> iterator() {
+                    return new Iterator<>() {
+                        private int edge = offsets[id];
+
+                        @Override
+                        public boolean hasNext() {
+                            return edge < offsets[id + 1];
+                        }
+
+                        @Override
+                        public Entry<T, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            var entry = Map.entry(vertexAt(targets[edge]), weights[edge]);
+                            edge++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return NeighborView.this.size();
+                }
+            };
+        }
+
+    }
+
+}
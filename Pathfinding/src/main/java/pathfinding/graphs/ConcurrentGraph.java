@@ -0,0 +1,339 @@
+package pathfinding.graphs;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A thread-safe counterpart of {@link FlexibleGraph}.
+ * Edges and vertices can be added and removed from many threads
+ * at the same time while other threads are searching the graph.
+ * Writers only contend when they touch vertices guarded by the same
+ * of a fixed number of striped locks, and readers never block.
+ * <p>
+ * Every single adjacency is updated atomically. Both endpoints of an edge
+ * are updated while holding their locks, which a removal of either endpoint
+ * takes as well, so no edge outlives a removed vertex. The two directions
+ * of an undirected edge are not updated at once, though,
+ * so a concurrent reader might briefly see only one of them.
+ * Iterating the neighbors of a vertex never throws a
+ * {@link java.util.ConcurrentModificationException},
+ * it reflects some of the modifications made during the iteration.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+@RequiredArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ConcurrentGraph<T> implements ModifiableGraph<T> {
+
+    private final boolean directed;
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final Map<T, Map<T, Double>> adjacencies = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Lock[] stripes = createStripes();
+
+    @ToString.Exclude
+    private volatile ToDoubleBiFunction<T, T> defaultWeightFunction = (_, _) -> 1;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final GraphEventDispatcher<T> events = new GraphEventDispatcher<>();
+
+    /**
+     * Undirected graph constructor.
+     */
+    public ConcurrentGraph() {
+        this(false);
+    }
+
+    @Override
+    public void addEdge(T source, T destination) {
+        addEdge(
+                source,
+                destination,
+                defaultWeightFunction.applyAsDouble(source, destination)
+        );
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight) {
+        modify(() -> {
+            Double oldWeight;
+            lockBoth(source, destination);
+
+            try {
+                oldWeight = neighborsOf(source).put(destination, weight);
+
+                if (directed) {
+                    addVertex(destination);
+                } else {
+                    neighborsOf(destination).put(source, weight);
+                }
+            } finally {
+                unlockBoth(source, destination);
+            }
+
+            events.publishEdgeAdded(source, destination, oldWeight, weight);
+        });
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        neighborsOf(vertex);
+    }
+
+    /**
+     * Creates the adjacency of the vertex atomically if it is missing,
+     * in which case only the creating thread publishes the new vertex.
+     */
+    private Map<T, Double> neighborsOf(T vertex) {
+        var neighbors = adjacencies.get(vertex);
+
+        if (neighbors != null) {
+            return neighbors;
+        }
+
+        var created = new ConcurrentHashMap<T, Double>();
+        neighbors = adjacencies.putIfAbsent(vertex, created);
+
+        if (neighbors != null) {
+            return neighbors;
+        }
+
+        events.publish(version -> new GraphEvent.VertexAdded<>(version, vertex));
+        return created;
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        Double oldWeight;
+        lockBoth(source, destination);
+
+        try {
+            oldWeight = getNeighbors(source).remove(destination);
+
+            if (!directed) {
+                getNeighbors(destination).remove(source);
+            }
+        } finally {
+            unlockBoth(source, destination);
+        }
+
+        events.publishEdgeRemoved(source, destination, oldWeight);
+    }
+
+    /**
+     * Locks the vertex and, in an undirected graph, all of its neighbors,
+     * so no edge to the vertex can be added while it is being removed.
+     * The neighbors are read before locking them, so the removal
+     * is retried if a neighbor has been added meanwhile.
+     */
+    @Override
+    public void removeVertex(T vertex) {
+        modify(() -> {
+            while (true) {
+                var neighbors = adjacencies.get(vertex);
+
+                if (neighbors == null) {
+                    return;
+                }
+
+                int[] locked = stripesOf(vertex, (directed) ? Set.of() : neighbors.keySet());
+                lock(locked);
+
+                try {
+                    neighbors = adjacencies.get(vertex);
+
+                    if (neighbors == null) {
+                        return;
+                    }
+
+                    if (!directed && !isLocked(locked, neighbors.keySet())) {
+                        continue;
+                    }
+
+                    adjacencies.remove(vertex);
+                    removeAll(vertex, neighbors);
+                    return;
+                } finally {
+                    unlock(locked);
+                }
+            }
+        });
+    }
+
+    private void removeAll(T vertex, Map<T, Double> neighbors) {
+        neighbors.forEach((neighbor, weight) -> {
+            if (!directed) {
+                getNeighbors(neighbor).remove(vertex);
+            }
+
+            events.publishEdgeRemoved(vertex, neighbor, weight);
+        });
+
+        events.publish(version -> new GraphEvent.VertexRemoved<>(version, vertex));
+    }
+
+    /**
+     * Runs the modification in a batch, so its events are only delivered
+     * once the locks have been released. Without listeners, there is nothing to batch.
+     */
+    private void modify(Runnable modification) {
+        if (events.hasListeners()) {
+            events.batch(modification);
+        } else {
+            modification.run();
+        }
+    }
+
+    private static Lock[] createStripes() {
+        var stripes = new Lock[STRIPE_COUNT];
+        Arrays.setAll(stripes, _ -> new ReentrantLock());
+        return stripes;
+    }
+
+    private static int stripeOf(Object vertex) {
+        int hash = vertex.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * Locks the stripes of both vertices in ascending order, so two writers can't deadlock.
+     */
+    private void lockBoth(T first, T second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        stripes[Math.min(a, b)].lock();
+
+        if (a != b) {
+            stripes[Math.max(a, b)].lock();
+        }
+    }
+
+    private void unlockBoth(T first, T second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        stripes[Math.max(a, b)].unlock();
+
+        if (a != b) {
+            stripes[Math.min(a, b)].unlock();
+        }
+    }
+
+    /**
+     * @return the distinct stripes of the vertex and its neighbors in ascending order
+     */
+    private static <T> int[] stripesOf(T vertex, Set<T> neighbors) {
+        return IntStream.concat(
+                        IntStream.of(stripeOf(vertex)),
+                        neighbors.stream().mapToInt(ConcurrentGraph::stripeOf)
+                )
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private static <T> boolean isLocked(int[] locked, Set<T> vertices) {
+        return vertices.stream().allMatch(vertex -> Arrays.binarySearch(locked, stripeOf(vertex)) >= 0);
+    }
+
+    private void lock(int[] locked) {
+        for (int stripe : locked) {
+            stripes[stripe].lock();
+        }
+    }
+
+    private void unlock(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return events.getVersion();
+    }
+
+    @Override
+    public void addListener(GraphListener<T> listener) {
+        events.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(GraphListener<T> listener) {
+        events.removeListener(listener);
+    }
+
+    @Override
+    public void batch(Runnable modifications) {
+        events.batch(modifications);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        int count = adjacencies.values()
+                .stream()
+                .mapToInt(Map::size)
+                .sum();
+
+        return (directed) ? count : count / 2;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return adjacencies.size();
+    }
+
+    @Override
+    public boolean hasVertex(T vertex) {
+        return adjacencies.containsKey(vertex);
+    }
+
+    @Override
+    public double calculateAverageDegree() {
+        return adjacencies.values()
+                .stream()
+                .mapToInt(Map::size)
+                .average()
+                .orElse(0);
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return adjacencies.keySet();
+    }
+
+    @Override
+    public Map<T, Double> getNeighbors(T vertex) {
+        return adjacencies.getOrDefault(vertex, Collections.emptyMap());
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        var neighbors = adjacencies.get(vertex);
+
+        if (neighbors != null) {
+            neighbors.forEach(action::accept);
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import pathfinding.games.FifteenPuzzleBoard;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * A graph that helps with solving the
@@ -31,6 +32,18 @@ public class FifteenPuzzleGraph implements Graph<FifteenPuzzle> {
         return map;
     }
 
+    @Override
+    public void forEachNeighbor(FifteenPuzzle puzzle,
+                                ObjDoubleConsumer<FifteenPuzzle> action) {
+        for (var direction : Direction.values()) {
+            var boardCopy = new FifteenPuzzleBoard(puzzle.board());
+
+            if (boardCopy.move(direction)) {
+                action.accept(new FifteenPuzzle(boardCopy), 1.0);
+            }
+        }
+    }
+
     @Override
     public double getEdgeWeight(FifteenPuzzle source,
                                 FifteenPuzzle destination) {
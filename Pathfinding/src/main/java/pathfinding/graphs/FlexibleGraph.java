@@ -1,11 +1,13 @@
 package pathfinding.graphs;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.util.*;
+import java.util.function.ObjDoubleConsumer;
 import java.util.function.ToDoubleBiFunction;
 
 @RequiredArgsConstructor
@@ -21,6 +23,10 @@ public class FlexibleGraph<T> implements ModifiableGraph<T> {
     @ToString.Exclude
     private ToDoubleBiFunction<T, T> defaultWeightFunction = (_, _) -> 1;
 
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final GraphEventDispatcher<T> events = new GraphEventDispatcher<>();
+
     /**
      * Undirected graph constructor.
      */
@@ -41,30 +47,71 @@ public class FlexibleGraph<T> implements ModifiableGraph<T> {
     public void addEdge(T source, T destination, double weight) {
         addVertex(source);
         addVertex(destination);
-        adjacencies.get(source).put(destination, weight);
+        var oldWeight = adjacencies.get(source).put(destination, weight);
 
         if (!directed) {
             adjacencies.get(destination).put(source, weight);
         }
+
+        events.publishEdgeAdded(source, destination, oldWeight, weight);
     }
 
     @Override
     public void addVertex(T vertex) {
-        adjacencies.computeIfAbsent(vertex, _ -> new HashMap<>());
+        if (!adjacencies.containsKey(vertex)) {
+            adjacencies.put(vertex, new HashMap<>());
+            events.publish(version -> new GraphEvent.VertexAdded<>(version, vertex));
+        }
     }
 
     @Override
     public void removeEdge(T source, T destination) {
-        adjacencies.get(source).remove(destination);
+        var oldWeight = adjacencies.get(source).remove(destination);
 
         if (!directed) {
             adjacencies.get(destination).remove(source);
         }
+
+        events.publishEdgeRemoved(source, destination, oldWeight);
     }
 
     @Override
     public void removeVertex(T vertex) {
-        adjacencies.remove(vertex);
+        events.batch(() -> {
+            var neighbors = adjacencies.remove(vertex);
+
+            if (neighbors != null) {
+                neighbors.forEach((neighbor, weight) -> {
+                    if (!directed && !neighbor.equals(vertex)) {
+                        adjacencies.get(neighbor).remove(vertex);
+                    }
+
+                    events.publishEdgeRemoved(vertex, neighbor, weight);
+                });
+
+                events.publish(version -> new GraphEvent.VertexRemoved<>(version, vertex));
+            }
+        });
+    }
+
+    @Override
+    public long getVersion() {
+        return events.getVersion();
+    }
+
+    @Override
+    public void addListener(GraphListener<T> listener) {
+        events.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(GraphListener<T> listener) {
+        events.removeListener(listener);
+    }
+
+    @Override
+    public void batch(Runnable modifications) {
+        events.batch(modifications);
     }
 
     @Override
@@ -106,4 +153,13 @@ public class FlexibleGraph<T> implements ModifiableGraph<T> {
         return adjacencies.getOrDefault(vertex, Collections.emptyMap());
     }
 
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        var neighbors = adjacencies.get(vertex);
+
+        if (neighbors != null) {
+            neighbors.forEach(action::accept);
+        }
+    }
+
 }
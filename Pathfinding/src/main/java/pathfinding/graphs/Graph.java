@@ -2,9 +2,14 @@ package pathfinding.graphs;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * An interface that helps to define the behavior of a graph.
+ * <p>
+ * Parallel searches and a pathfinder shared by many threads read
+ * the graph from many threads at once, so its reads must be thread-safe then.
+ * A {@link MemoizedGraph} is not, as its reads update the cache.
  *
  * @param <T> the type of the vertices in the graph
  */
@@ -17,6 +22,19 @@ public interface Graph<T> {
      */
     Map<T, Double> getNeighbors(T vertex);
 
+    /**
+     * Calls the action for every neighbor of the vertex
+     * with the weight of the edge leading to it.
+     * Unlike {@link #getNeighbors(T)}, implementations
+     * don't need to allocate a Map for this.
+     *
+     * @param vertex the vertex to get the neighbors of
+     * @param action the action to be performed for every neighbor
+     */
+    default void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        getNeighbors(vertex).forEach(action::accept);
+    }
+
     /**
      * @param source      vertex u of the edge (u, v) to be checked for
      * @param destination vertex v of the edge (u, v) to be checked for
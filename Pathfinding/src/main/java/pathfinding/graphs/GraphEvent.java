@@ -0,0 +1,44 @@
+package pathfinding.graphs;
+
+/**
+ * A modification of a {@link ModifiableGraph}.
+ * Every event carries the version of the graph right after it,
+ * so events can be ordered and compared to {@link ModifiableGraph#getVersion()}.
+ * An undirected edge causes only one event, for the direction it was modified in.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public sealed interface GraphEvent<T> {
+
+    long version();
+
+    record VertexAdded<T>(long version, T vertex) implements GraphEvent<T> {
+
+    }
+
+    /**
+     * Published after the removal of all the edges leaving the vertex.
+     */
+    record VertexRemoved<T>(long version, T vertex) implements GraphEvent<T> {
+
+    }
+
+    record EdgeAdded<T>(long version, T source, T destination, double weight)
+            implements GraphEvent<T> {
+
+    }
+
+    record EdgeRemoved<T>(long version, T source, T destination, double weight)
+            implements GraphEvent<T> {
+
+    }
+
+    /**
+     * Published when an edge that already exists is added with a different weight.
+     */
+    record EdgeReweighted<T>(long version, T source, T destination, double oldWeight, double newWeight)
+            implements GraphEvent<T> {
+
+    }
+
+}
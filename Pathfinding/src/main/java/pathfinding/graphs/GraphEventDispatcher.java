@@ -0,0 +1,126 @@
+package pathfinding.graphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps the listeners and the version of a {@link ModifiableGraph}
+ * and delivers its events, so the implementations only have to publish them.
+ * <p>
+ * The events are only created if there are listeners at all, so an
+ * unobserved graph pays nothing but incrementing the version.
+ * Batches are per thread, so a batch of one thread never
+ * contains the modifications of another one.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class GraphEventDispatcher<T> {
+
+    private final List<GraphListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<GraphEvent<T>>> batches = new ThreadLocal<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public void addListener(GraphListener<T> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(GraphListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Increments the version and publishes the event created for the new one.
+     *
+     * @param eventFactory creates the event for the given version
+     */
+    public void publish(LongFunction<GraphEvent<T>> eventFactory) {
+        long nextVersion = version.incrementAndGet();
+
+        if (hasListeners()) {
+            publish(eventFactory.apply(nextVersion));
+        }
+    }
+
+    /**
+     * Publishes that the edge has been added or reweighted,
+     * or nothing if it already had the same weight.
+     *
+     * @param oldWeight the previous weight of the edge, or null if it is new
+     */
+    public void publishEdgeAdded(T source, T destination, Double oldWeight, double weight) {
+        if (oldWeight == null) {
+            publish(nextVersion -> new GraphEvent.EdgeAdded<>(nextVersion, source, destination, weight));
+        } else if (Double.compare(oldWeight, weight) != 0) {
+            publish(nextVersion -> new GraphEvent.EdgeReweighted<>(nextVersion, source, destination, oldWeight, weight));
+        }
+    }
+
+    /**
+     * Publishes that the edge has been removed, or nothing if it didn't exist.
+     *
+     * @param oldWeight the previous weight of the edge, or null if there was none
+     */
+    public void publishEdgeRemoved(T source, T destination, Double oldWeight) {
+        if (oldWeight != null) {
+            publish(nextVersion -> new GraphEvent.EdgeRemoved<>(nextVersion, source, destination, oldWeight));
+        }
+    }
+
+    /**
+     * Publishes an event whose version is managed by the graph itself.
+     */
+    public void publish(GraphEvent<T> event) {
+        var batch = batches.get();
+
+        if (batch != null) {
+            batch.add(event);
+        } else {
+            deliver(List.of(event));
+        }
+    }
+
+    /**
+     * Runs the modifications and delivers all of their events at once afterward,
+     * even if they fail halfway. Batches can be nested, only the outermost delivers.
+     */
+    public void batch(Runnable modifications) {
+        var batch = batches.get();
+        boolean isOutermost = batch == null;
+
+        if (isOutermost) {
+            batch = new ArrayList<>();
+            batches.set(batch);
+        }
+
+        try {
+            modifications.run();
+        } finally {
+            if (isOutermost) {
+                batches.remove();
+
+                if (!batch.isEmpty()) {
+                    deliver(List.copyOf(batch));
+                }
+            }
+        }
+    }
+
+    private void deliver(List<GraphEvent<T>> events) {
+        for (var listener : listeners) {
+            listener.onGraphChanged(events);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package pathfinding.graphs;
+
+import java.util.List;
+
+/**
+ * Receives the modifications of a {@link ModifiableGraph}.
+ * The modifications made by one thread are delivered in order on
+ * that thread, either one by one or as a batch, see {@link ModifiableGraph#batch}.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+@FunctionalInterface
+public interface GraphListener<T> {
+
+    /**
+     * @param events the modifications in the order they were made, never empty
+     */
+    void onGraphChanged(List<GraphEvent<T>> events);
+
+}
@@ -0,0 +1,242 @@
+package pathfinding.graphs;
+
+import lombok.Getter;
+import pathfinding.functions.Heuristic;
+import pathfinding.functions.IntDoubleConsumer;
+import pathfinding.functions.IntHeuristic;
+import pathfinding.games.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * An implicit graph of a 2D occupancy grid.
+ * Only the obstacles are stored, one bit per cell,
+ * the neighbors and weights are calculated arithmetically.
+ * A 10000x10000 grid therefore takes about 12.5 MB.
+ * <p>
+ * The id of the cell {@code (x, y)} is {@code y * width + x}.
+ * Blocked cells are still vertices, but they don't have any edges.
+ * With {@link Connectivity#EIGHT} diagonal moves cost {@code sqrt(2)}
+ * and are only allowed if both adjacent orthogonal cells are free,
+ * so paths never cut corners of obstacles.
+ */
+@Getter
+public final class GridGraph implements IndexedGraph<Position> {
+
+    private static final double DIAGONAL_WEIGHT = Math.sqrt(2);
+
+    private final int width;
+    private final int height;
+    private final Connectivity connectivity;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final long[] blocked;
+
+    /**
+     * Creates a grid without any obstacles.
+     *
+     * @param width        the number of columns
+     * @param height       the number of rows
+     * @param connectivity which cells are adjacent to each other
+     */
+    public GridGraph(int width, int height, Connectivity connectivity) {
+        if (width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(STR."Invalid grid size \{width}x\{height}.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.connectivity = connectivity;
+        this.blocked = new long[(int) (((long) width * height + 63) >>> 6)];
+    }
+
+    /**
+     * The neighborhood of a cell.
+     */
+    public enum Connectivity {
+        /**
+         * Von Neumann neighborhood, only orthogonal moves.
+         */
+        FOUR,
+        /**
+         * Moore neighborhood, orthogonal and diagonal moves.
+         */
+        EIGHT
+    }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the cell is outside the grid
+     */
+    public boolean isBlocked(int x, int y) {
+        checkInside(x, y);
+        return isBlocked(y * width + x);
+    }
+
+    public boolean isBlocked(int id) {
+        return (blocked[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * @return whether the cell is inside the grid and not blocked
+     */
+    public boolean isWalkable(int x, int y) {
+        return isInside(x, y) && !isBlocked(y * width + x);
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the cell is outside the grid
+     */
+    public void setBlocked(int x, int y, boolean isBlocked) {
+        checkInside(x, y);
+        int id = y * width + x;
+
+        if (isBlocked) {
+            blocked[id >>> 6] |= 1L << id;
+        } else {
+            blocked[id >>> 6] &= ~(1L << id);
+        }
+    }
+
+    private void checkInside(int x, int y) {
+        if (!isInside(x, y)) {
+            throw new IndexOutOfBoundsException(STR."The cell (\{x}, \{y}) is outside the \{width}x\{height} grid.");
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        return width * height;
+    }
+
+    @Override
+    public int indexOf(Position vertex) {
+        return (isInside(vertex.x(), vertex.y())) ? vertex.y() * width + vertex.x() : -1;
+    }
+
+    @Override
+    public Position vertexAt(int id) {
+        return new Position(id % width, id / width);
+    }
+
+    @Override
+    public void forEachNeighborId(int id, IntDoubleConsumer action) {
+        if (isBlocked(id)) {
+            return;
+        }
+
+        int x = id % width;
+        int y = id / width;
+        boolean left = isWalkable(x - 1, y);
+        boolean right = isWalkable(x + 1, y);
+        boolean up = isWalkable(x, y - 1);
+        boolean down = isWalkable(x, y + 1);
+
+        acceptIf(left, id - 1, 1, action);
+        acceptIf(right, id + 1, 1, action);
+        acceptIf(up, id - width, 1, action);
+        acceptIf(down, id + width, 1, action);
+
+        if (connectivity == Connectivity.EIGHT) {
+            acceptIf(up && left && !isBlocked(id - width - 1), id - width - 1, DIAGONAL_WEIGHT, action);
+            acceptIf(up && right && !isBlocked(id - width + 1), id - width + 1, DIAGONAL_WEIGHT, action);
+            acceptIf(down && left && !isBlocked(id + width - 1), id + width - 1, DIAGONAL_WEIGHT, action);
+            acceptIf(down && right && !isBlocked(id + width + 1), id + width + 1, DIAGONAL_WEIGHT, action);
+        }
+    }
+
+    private static void acceptIf(boolean isWalkable, int neighbor, double weight, IntDoubleConsumer action) {
+        if (isWalkable) {
+            action.accept(neighbor, weight);
+        }
+    }
+
+    @Override
+    public Map<Position, Double> getNeighbors(Position vertex) {
+        var neighbors = HashMap.<Position, Double>newHashMap(8);
+        forEachNeighbor(vertex, neighbors::put);
+        return neighbors;
+    }
+
+    @Override
+    public void forEachNeighbor(Position vertex, ObjDoubleConsumer<Position> action) {
+        int id = indexOf(vertex);
+
+        if (id >= 0) {
+            forEachNeighborId(id, (neighbor, weight) -> action.accept(vertexAt(neighbor), weight));
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(Position source, Position destination) {
+        int dx = Math.abs(source.x() - destination.x());
+        int dy = Math.abs(source.y() - destination.y());
+
+        if (!isWalkable(source.x(), source.y()) || !isWalkable(destination.x(), destination.y())) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        if (dx + dy == 1) {
+            return 1;
+        }
+
+        if (dx == 1 && dy == 1 && connectivity == Connectivity.EIGHT
+                && isWalkable(destination.x(), source.y())
+                && isWalkable(source.x(), destination.y())) {
+            return DIAGONAL_WEIGHT;
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public boolean hasEdge(Position source, Position destination) {
+        return getEdgeWeight(source, destination) != Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int getDegree(Position vertex) {
+        int id = indexOf(vertex);
+        return (id < 0) ? 0 : getOutDegree(id);
+    }
+
+    /**
+     * @return the length of the shortest path between two cells
+     * if there were no obstacles, i.e. the Manhattan distance with
+     * {@link Connectivity#FOUR} and the octile distance with {@link Connectivity#EIGHT}
+     */
+    public double calculateDistance(int source, int destination) {
+        int dx = Math.abs(source % width - destination % width);
+        int dy = Math.abs(source / width - destination / width);
+
+        return (connectivity == Connectivity.FOUR)
+                ? dx + dy
+                : Math.max(dx, dy) + (DIAGONAL_WEIGHT - 1) * Math.min(dx, dy);
+    }
+
+    /**
+     * @return an admissible and consistent heuristic for {@link pathfinding.algorithms.IntAStar}
+     * that falls back to 0 if the end condition is not a specific cell
+     */
+    public IntHeuristic createIntHeuristic() {
+        return (vertex, endCondition) -> {
+            var endVertex = endCondition.vertex();
+            return (endVertex.isPresent()) ? calculateDistance(vertex, endVertex.getAsInt()) : 0;
+        };
+    }
+
+    /**
+     * @return the generic counterpart of {@link #createIntHeuristic()}
+     */
+    public Heuristic<Position> createHeuristic() {
+        return (vertex, endCondition) -> endCondition.vertex()
+                .map(end -> calculateDistance(indexOf(vertex), indexOf(end)))
+                .orElse(0.0);
+    }
+
+}
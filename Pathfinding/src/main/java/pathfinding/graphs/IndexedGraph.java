@@ -0,0 +1,24 @@
+package pathfinding.graphs;
+
+/**
+ * A graph that assigns a dense id to every vertex,
+ * so it can be searched both with the generic algorithms
+ * and with the primitive ones working on an {@link IntGraph}.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public interface IndexedGraph<T> extends Graph<T>, IntGraph {
+
+    /**
+     * @param vertex the vertex to get the id of
+     * @return the id of the vertex, or -1 if it is not part of the graph
+     */
+    int indexOf(T vertex);
+
+    /**
+     * @param id the id of the vertex
+     * @return the vertex with the given id
+     */
+    T vertexAt(int id);
+
+}
@@ -0,0 +1,42 @@
+package pathfinding.graphs;
+
+import pathfinding.functions.IntDoubleConsumer;
+
+/**
+ * An interface for graphs whose vertices are the
+ * dense ids {@code [0, getVertexCount())}.
+ * Neighbors and weights are passed around as primitives,
+ * so no boxing or hashing is necessary while searching.
+ * <p>
+ * The vertex count may grow while the graph is searched, e.g. if the
+ * ids are assigned lazily, so a search must not rely on the count
+ * as the bound of the ids it discovers.
+ */
+public interface IntGraph {
+
+    /**
+     * @return the number of vertices, which is
+     * also the exclusive upper bound of the ids
+     */
+    int getVertexCount();
+
+    /**
+     * Calls the action for every outgoing edge of the vertex
+     * with the id of the neighbor and the weight of the edge.
+     *
+     * @param id     the id of the vertex to get the neighbors of
+     * @param action the action to be performed for every neighbor
+     */
+    void forEachNeighborId(int id, IntDoubleConsumer action);
+
+    /**
+     * @param id the id of the vertex
+     * @return the number of outgoing edges of the vertex
+     */
+    default int getOutDegree(int id) {
+        int[] count = {0};
+        forEachNeighborId(id, (_, _) -> count[0]++);
+        return count[0];
+    }
+
+}
@@ -0,0 +1,274 @@
+package pathfinding.graphs;
+
+import pathfinding.functions.IntDoubleConsumer;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A read-only graph that is memory-mapped from a binary file,
+ * so its adjacencies and weights stay off-heap.
+ * Opening the file is nearly instant, because the pages
+ * are only loaded by the operating system once they are accessed.
+ * <p>
+ * The vertices are the ids {@code [0, getVertexCount())}.
+ * The file is laid out in compressed sparse row format
+ * (see {@link CompressedGraph}), all values are little-endian:
+ * <pre>
+ * int    magic ("PFG1")
+ * int    version
+ * int    flags (bit 0: directed)
+ * int    reserved
+ * long   vertex count V
+ * long   stored edge count E (undirected edges are stored twice)
+ * long[] offsets (V + 1)
+ * int[]  targets (E), padded to a multiple of 8 bytes
+ * double weights (E)
+ * </pre>
+ * The graph has to be {@link #close() closed} to release the mapping.
+ */
+public final class MappedGraph implements IndexedGraph<Integer>, AutoCloseable {
+
+    private static final int MAGIC = 0x31474650;  // "PFG1" in little-endian
+    private static final int VERSION = 1;
+    private static final int DIRECTED_FLAG = 1;
+    private static final long HEADER_SIZE = 32;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final boolean directed;
+    private final int vertexCount;
+    private final long storedEdgeCount;
+    private final MemorySegment offsets;
+    private final MemorySegment targets;
+    private final MemorySegment weights;
+
+    private MappedGraph(Arena arena, MemorySegment segment) throws IOException {
+        if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC) {
+            throw new IOException("The file is not a graph file.");
+        }
+
+        if (segment.get(INT, 4) != VERSION) {
+            throw new IOException(STR."Unsupported graph file version \{segment.get(INT, 4)}.");
+        }
+
+        long vertices = segment.get(LONG, 16);
+        long edges = segment.get(LONG, 24);
+
+        if (vertices < 0 || vertices >= Integer.MAX_VALUE || edges < 0
+                || segment.byteSize() != calculateFileSize(vertices, edges)) {
+            throw new IOException("The graph file is corrupted.");
+        }
+
+        this.arena = arena;
+        this.directed = (segment.get(INT, 8) & DIRECTED_FLAG) != 0;
+        this.vertexCount = (int) vertices;
+        this.storedEdgeCount = edges;
+        this.offsets = segment.asSlice(HEADER_SIZE, 8 * (vertices + 1));
+        this.targets = segment.asSlice(calculateTargetsOffset(vertices), 4 * edges);
+        this.weights = segment.asSlice(calculateWeightsOffset(vertices, edges), 8 * edges);
+    }
+
+    /**
+     * Maps the given graph file into memory.
+     *
+     * @param path the path of a file written by {@link #write(Path, IntGraph, boolean)}
+     * @return the mapped graph
+     * @throws IOException if the file can't be read or is not a valid graph file
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        var arena = Arena.ofShared();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new MappedGraph(arena, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a compressed graph to a file, so it can be opened with {@link #open(Path)}.
+     * The vertex ids of the compressed graph are kept.
+     */
+    public static void write(Path path, CompressedGraph<?> graph) throws IOException {
+        write(path, graph, graph.isDirected());
+    }
+
+    /**
+     * Writes any graph with dense vertex ids to a file,
+     * so it can be opened with {@link #open(Path)}.
+     *
+     * @param path     the path of the file to be (over)written
+     * @param graph    the graph to be written
+     * @param directed whether the graph is directed,
+     *                 i.e. how its edges should be counted
+     */
+    public static void write(Path path, IntGraph graph, boolean directed) throws IOException {
+        long vertices = graph.getVertexCount();
+        long edges = 0;
+
+        for (int id = 0; id < vertices; id++) {
+            edges += graph.getOutDegree(id);
+        }
+
+        var options = new StandardOpenOption[]{
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        };
+
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(path, options)) {
+            long size = calculateFileSize(vertices, edges);
+            var segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            segment.set(INT, 0, MAGIC);
+            segment.set(INT, 4, VERSION);
+            segment.set(INT, 8, (directed) ? DIRECTED_FLAG : 0);
+            segment.set(LONG, 16, vertices);
+            segment.set(LONG, 24, edges);
+
+            var offsets = segment.asSlice(HEADER_SIZE, 8 * (vertices + 1));
+            var targets = segment.asSlice(calculateTargetsOffset(vertices), 4 * edges);
+            var weights = segment.asSlice(calculateWeightsOffset(vertices, edges), 8 * edges);
+            long[] edge = {0};
+
+            for (int id = 0; id < vertices; id++) {
+                offsets.setAtIndex(LONG, id, edge[0]);
+
+                graph.forEachNeighborId(id, (neighbor, weight) -> {
+                    targets.setAtIndex(INT, edge[0], neighbor);
+                    weights.setAtIndex(DOUBLE, edge[0], weight);
+                    edge[0]++;
+                });
+            }
+
+            offsets.setAtIndex(LONG, vertices, edge[0]);
+            segment.force();
+        }
+    }
+
+    private static long calculateTargetsOffset(long vertices) {
+        return HEADER_SIZE + 8 * (vertices + 1);
+    }
+
+    private static long calculateWeightsOffset(long vertices, long edges) {
+        long targetsEnd = calculateTargetsOffset(vertices) + 4 * edges;
+        return (targetsEnd + 7) & ~7L;
+    }
+
+    private static long calculateFileSize(long vertices, long edges) {
+        return calculateWeightsOffset(vertices, edges) + 8 * edges;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    public long getEdgeCount() {
+        return (directed) ? storedEdgeCount : storedEdgeCount / 2;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int indexOf(Integer vertex) {
+        return (vertex >= 0 && vertex < vertexCount) ? vertex : -1;
+    }
+
+    @Override
+    public Integer vertexAt(int id) {
+        return id;
+    }
+
+    @Override
+    public void forEachNeighborId(int id, IntDoubleConsumer action) {
+        long end = offsets.getAtIndex(LONG, id + 1);
+
+        for (long edge = offsets.getAtIndex(LONG, id); edge < end; edge++) {
+            action.accept(
+                    targets.getAtIndex(INT, edge),
+                    weights.getAtIndex(DOUBLE, edge)
+            );
+        }
+    }
+
+    @Override
+    public int getOutDegree(int id) {
+        return (int) (offsets.getAtIndex(LONG, id + 1) - offsets.getAtIndex(LONG, id));
+    }
+
+    @Override
+    public Map<Integer, Double> getNeighbors(Integer vertex) {
+        if (indexOf(vertex) < 0) {
+            return Map.of();
+        }
+
+        var neighbors = HashMap.<Integer, Double>newHashMap(getOutDegree(vertex));
+        forEachNeighborId(vertex, neighbors::put);
+        return neighbors;
+    }
+
+    @Override
+    public void forEachNeighbor(Integer vertex, ObjDoubleConsumer<Integer> action) {
+        if (indexOf(vertex) >= 0) {
+            forEachNeighborId(vertex, action::accept);
+        }
+    }
+
+    @Override
+    public int getDegree(Integer vertex) {
+        return (indexOf(vertex) < 0) ? 0 : getOutDegree(vertex);
+    }
+
+    @Override
+    public double getEdgeWeight(Integer source, Integer destination) {
+        if (indexOf(source) < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        long end = offsets.getAtIndex(LONG, source + 1);
+
+        for (long edge = offsets.getAtIndex(LONG, source); edge < end; edge++) {
+            if (targets.getAtIndex(INT, edge) == destination) {
+                return weights.getAtIndex(DOUBLE, edge);
+            }
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public boolean hasEdge(Integer source, Integer destination) {
+        return getEdgeWeight(source, destination) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Unmaps the file. The graph must not be used afterward.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+}
@@ -1,6 +1,9 @@
 package pathfinding.graphs;
 
-import java.util.HashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -8,19 +11,95 @@ import java.util.Map;
  * memoizing the neighbors of a graph.
  * The neighbors will only be calculated
  * when they are requested for the first time.
+ * <p>
+ * The cache can be bounded to a maximum number of vertices,
+ * in which case the least recently used vertex is evicted first.
+ * The hit, miss and eviction counters help with sizing the cache.
+ * <p>
+ * Reading the neighbors updates the cache, so the graph
+ * must not be read by many threads at once.
  *
  * @param <T> the type of the vertices in the graph
  */
+@Getter
 public abstract class MemoizedGraph<T> implements Graph<T> {
 
-    private final Map<T, Map<T, Double>> adjacencyCache = new HashMap<>();
+    private final int capacity;
+    @Getter(AccessLevel.NONE)
+    private final Map<T, Map<T, Double>> adjacencyCache;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a graph with an unbounded cache.
+     */
+    protected MemoizedGraph() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity the maximum number of vertices
+     *                 whose neighbors are kept in the cache
+     */
+    protected MemoizedGraph(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+
+        this.capacity = capacity;
+        this.adjacencyCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, Map<T, Double>> eldest) {
+                if (size() > MemoizedGraph.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
 
     @Override
     public Map<T, Double> getNeighbors(T vertex) {
-        return adjacencyCache.computeIfAbsent(
-                vertex,
-                this::calculateNeighbors
-        );
+        var neighbors = adjacencyCache.get(vertex);
+
+        if (neighbors != null) {
+            hitCount++;
+            return neighbors;
+        }
+
+        missCount++;
+        neighbors = calculateNeighbors(vertex);
+        adjacencyCache.put(vertex, neighbors);
+        return neighbors;
+    }
+
+    /**
+     * @return the share of requests answered by the cache,
+     * or 0 if there haven't been any requests yet
+     */
+    public double calculateHitRate() {
+        long requestCount = hitCount + missCount;
+        return (requestCount == 0) ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of vertices currently in the cache
+     */
+    public int getCacheSize() {
+        return adjacencyCache.size();
+    }
+
+    /**
+     * Removes all vertices from the cache and resets the counters.
+     */
+    public void clearCache() {
+        adjacencyCache.clear();
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
     }
 
     protected abstract Map<T, Double> calculateNeighbors(T vertex);
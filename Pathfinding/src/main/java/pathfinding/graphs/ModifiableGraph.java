@@ -7,6 +7,7 @@ import java.util.Set;
 /**
  * A graph that can be modified and a lot
  * of information can be retrieved from it.
+ * Its modifications can be observed with a {@link GraphListener}.
  */
 public interface ModifiableGraph<T> extends Graph<T> {
 
@@ -85,6 +86,29 @@ public interface ModifiableGraph<T> extends Graph<T> {
      */
     Set<T> getVertices();
 
+    /**
+     * @return the version of the graph, which is
+     * incremented by every modification
+     */
+    long getVersion();
+
+    /**
+     * Registers a listener that is notified of every later modification.
+     * Listeners are called synchronously by the modifying thread,
+     * so they should be quick and must not modify the graph.
+     */
+    void addListener(GraphListener<T> listener);
+
+    void removeListener(GraphListener<T> listener);
+
+    /**
+     * Runs the modifications and notifies the listeners
+     * of all of them at once after they are done.
+     *
+     * @param modifications the modifications of this graph to be batched
+     */
+    void batch(Runnable modifications);
+
     /**
      * Adds a Collection of vertices to the graph.
      */
@@ -92,4 +116,28 @@ public interface ModifiableGraph<T> extends Graph<T> {
         vertices.forEach(this::addVertex);
     }
 
+    /**
+     * Freezes the current state of the graph into an immutable,
+     * compact snapshot with dense integer vertex ids.
+     *
+     * @return a {@link CompressedGraph} with the same vertices and edges
+     */
+    default CompressedGraph<T> freeze() {
+        return CompressedGraph.of(this);
+    }
+
+    /**
+     * Takes a point-in-time snapshot of the graph, so it can be
+     * searched while the graph itself keeps being modified.
+     * <p>
+     * The default implementation {@link #freeze() freezes} the graph,
+     * which copies every edge, so it must not be modified meanwhile.
+     * Implementations like {@link VersionedGraph} take snapshots in O(1).
+     *
+     * @return a read-only graph that doesn't reflect later modifications
+     */
+    default Graph<T> snapshot() {
+        return freeze();
+    }
+
 }
@@ -0,0 +1,49 @@
+package pathfinding.graphs;
+
+import pathfinding.games.Direction;
+import pathfinding.games.PackedFifteenPuzzle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A graph that helps with solving the 4x4 15 puzzle
+ * in the least amount of moves, just like {@link FifteenPuzzleGraph}.
+ * The vertices are the states packed by {@link PackedFifteenPuzzle},
+ * so a state takes 8 bytes instead of a board with its rows.
+ **/
+public class PackedFifteenPuzzleGraph implements Graph<Long> {
+
+    @Override
+    public Map<Long, Double> getNeighbors(Long state) {
+        var map = HashMap.<Long, Double>newHashMap(Direction.values().length);
+        forEachNeighbor(state, map::put);
+        return map;
+    }
+
+    @Override
+    public void forEachNeighbor(Long state, ObjDoubleConsumer<Long> action) {
+        int emptyIndex = PackedFifteenPuzzle.findEmptyIndex(state);
+
+        for (var direction : Direction.values()) {
+            long neighbor = PackedFifteenPuzzle.move(state, emptyIndex, direction);
+
+            if (neighbor != PackedFifteenPuzzle.NO_MOVE) {
+                action.accept(neighbor, 1.0);
+            }
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(Long source, Long destination) {
+        return 1;
+    }
+
+    @Override
+    public double sumEdgeWeights(List<Long> path) {
+        return (path.isEmpty()) ? 0 : path.size() - 1;
+    }
+
+}
@@ -0,0 +1,512 @@
+package pathfinding.graphs;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A modifiable graph with cheap point-in-time snapshots (MVCC).
+ * <p>
+ * Every adjacency Map is immutable and replaced on every modification
+ * by a new revision that is tagged with the version of the graph.
+ * A {@link Snapshot} only remembers the version it was taken at
+ * and reads the newest revision of each vertex that is not newer.
+ * Taking a snapshot therefore costs O(1), and a long-running search
+ * on it sees one consistent graph while writers keep modifying it.
+ * <p>
+ * Older revisions are only kept as long as an open snapshot
+ * might need them, so snapshots should be {@link Snapshot#close() closed}.
+ * A read of the current version registers its version like a snapshot
+ * while it walks the revisions, so pruning can't cut them off under it.
+ * Modifications are serialized, reads never block.
+ * The events of a modification carry its version and are delivered
+ * to the listeners after it has become visible.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+@RequiredArgsConstructor
+public class VersionedGraph<T> implements ModifiableGraph<T> {
+
+    @Getter
+    private final boolean directed;
+
+    private final Map<T, Revision<T>> revisions = new ConcurrentHashMap<>();
+    // the versions of the open snapshots and of the reads in progress
+    private final NavigableMap<Long, Integer> readVersions = new ConcurrentSkipListMap<>();
+    // the removed vertices in the order of their removal, guarded by the write lock
+    private final Queue<Tombstone<T>> tombstones = new ArrayDeque<>();
+    private final Lock writeLock = new ReentrantLock();
+
+    @Getter
+    private volatile long version;
+
+    @Getter
+    @Setter
+    private volatile ToDoubleBiFunction<T, T> defaultWeightFunction = (_, _) -> 1;
+
+    private final GraphEventDispatcher<T> events = new GraphEventDispatcher<>();
+
+    /**
+     * Undirected graph constructor.
+     */
+    public VersionedGraph() {
+        this(false);
+    }
+
+    /**
+     * An immutable adjacency Map of a vertex that is valid from the given version on.
+     * A {@code null} Map marks the vertex as removed.
+     */
+    private static final class Revision<T> {
+
+        private final long version;
+        private final Map<T, Double> neighbors;
+        private final int depth;
+        private volatile Revision<T> previous;
+
+        private Revision(long version, Map<T, Double> neighbors, int depth, Revision<T> previous) {
+            this.version = version;
+            this.neighbors = neighbors;
+            this.depth = depth;
+            this.previous = previous;
+        }
+
+    }
+
+    private record Tombstone<T>(T vertex, Revision<T> revision) {
+
+    }
+
+    @Override
+    public void addEdge(T source, T destination) {
+        addEdge(
+                source,
+                destination,
+                defaultWeightFunction.applyAsDouble(source, destination)
+        );
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight) {
+        modify(nextVersion -> {
+            boolean isNewSource = !hasVertex(source);
+            boolean isNewDestination = !hasVertex(destination);
+            var oldWeight = getNeighbors(source).get(destination);
+            revise(source, nextVersion, true, neighbors -> with(neighbors, destination, weight));
+
+            if (directed) {
+                revise(destination, nextVersion, true, UnaryOperator.identity());
+            } else {
+                revise(destination, nextVersion, true, neighbors -> with(neighbors, source, weight));
+            }
+
+            if (!events.hasListeners()) {
+                return;
+            }
+
+            if (isNewSource) {
+                events.publish(new GraphEvent.VertexAdded<>(nextVersion, source));
+            }
+
+            if (isNewDestination && !destination.equals(source)) {
+                events.publish(new GraphEvent.VertexAdded<>(nextVersion, destination));
+            }
+
+            if (oldWeight == null) {
+                events.publish(new GraphEvent.EdgeAdded<>(nextVersion, source, destination, weight));
+            } else if (Double.compare(oldWeight, weight) != 0) {
+                events.publish(new GraphEvent.EdgeReweighted<>(nextVersion, source, destination, oldWeight, weight));
+            }
+        });
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        if (!hasVertex(vertex)) {
+            modify(nextVersion -> {
+                revise(vertex, nextVersion, true, UnaryOperator.identity());
+
+                if (events.hasListeners()) {
+                    events.publish(new GraphEvent.VertexAdded<>(nextVersion, vertex));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        modify(nextVersion -> {
+            if (!hasVertex(source) || (!directed && !hasVertex(destination))) {
+                return;
+            }
+
+            var oldWeight = getNeighbors(source).get(destination);
+            revise(source, nextVersion, false, neighbors -> without(neighbors, destination));
+
+            if (!directed) {
+                revise(destination, nextVersion, false, neighbors -> without(neighbors, source));
+            }
+
+            if (oldWeight != null && events.hasListeners()) {
+                events.publish(new GraphEvent.EdgeRemoved<>(nextVersion, source, destination, oldWeight));
+            }
+        });
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        modify(nextVersion -> {
+            if (!hasVertex(vertex)) {
+                return;
+            }
+
+            var neighbors = getNeighbors(vertex);
+            createRevision(vertex, nextVersion, null, revisions.get(vertex));
+            tombstones.add(new Tombstone<>(vertex, revisions.get(vertex)));
+
+            if (!directed) {
+                for (var neighbor : neighbors.keySet()) {
+                    if (!neighbor.equals(vertex)) {
+                        revise(neighbor, nextVersion, false, adjacency -> without(adjacency, vertex));
+                    }
+                }
+            }
+
+            if (events.hasListeners()) {
+                neighbors.forEach((neighbor, weight) ->
+                        events.publish(new GraphEvent.EdgeRemoved<>(nextVersion, vertex, neighbor, weight))
+                );
+
+                events.publish(new GraphEvent.VertexRemoved<>(nextVersion, vertex));
+            }
+        });
+    }
+
+    @Override
+    public void addListener(GraphListener<T> listener) {
+        events.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(GraphListener<T> listener) {
+        events.removeListener(listener);
+    }
+
+    @Override
+    public void batch(Runnable modifications) {
+        events.batch(modifications);
+    }
+
+    /**
+     * Runs the modification with the next version while holding the write lock.
+     * Its events are batched and only delivered once the lock has been
+     * released and the new version is visible, so listeners can read it.
+     * Without listeners, there is nothing to batch.
+     */
+    private void modify(LongConsumer modification) {
+        if (events.hasListeners()) {
+            events.batch(() -> modifyLocked(modification));
+        } else {
+            modifyLocked(modification);
+        }
+    }
+
+    private void modifyLocked(LongConsumer modification) {
+        writeLock.lock();
+
+        try {
+            dropTombstones();
+            long nextVersion = version + 1;
+            modification.accept(nextVersion);
+            version = nextVersion;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Creates a revision of the vertex if the revision changes its neighbors.
+     *
+     * @param isAdding whether an absent or removed vertex is added by the revision,
+     *                 otherwise it stays absent
+     */
+    private void revise(T vertex, long nextVersion, boolean isAdding, UnaryOperator<Map<T, Double>> revision) {
+        var head = revisions.get(vertex);
+        boolean isAbsent = head == null || head.neighbors == null;
+
+        if (isAbsent && !isAdding) {
+            return;
+        }
+
+        var neighbors = (isAbsent) ? Map.<T, Double>of() : head.neighbors;
+        var revised = revision.apply(neighbors);
+
+        if (revised != neighbors || isAbsent) {
+            createRevision(vertex, nextVersion, revised, head);
+        }
+    }
+
+    /**
+     * Puts a new revision in front of the given one.
+     * The chain is only pruned whenever its depth reaches a power of two,
+     * so pruning costs amortized O(1) per modification.
+     */
+    private void createRevision(T vertex, long nextVersion, Map<T, Double> neighbors, Revision<T> head) {
+        int depth = (head == null) ? 0 : head.depth;
+
+        if (depth > 1 && Integer.bitCount(depth) == 1) {
+            depth = prune(head);
+        }
+
+        revisions.put(vertex, new Revision<>(nextVersion, neighbors, depth + 1, head));
+    }
+
+    private static <T> Map<T, Double> with(Map<T, Double> neighbors, T neighbor, double weight) {
+        var copy = HashMap.<T, Double>newHashMap(neighbors.size() + 1);
+        copy.putAll(neighbors);
+        copy.put(neighbor, weight);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static <T> Map<T, Double> without(Map<T, Double> neighbors, T neighbor) {
+        if (!neighbors.containsKey(neighbor)) {
+            return neighbors;
+        }
+
+        var copy = new HashMap<>(neighbors);
+        copy.remove(neighbor);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Cuts off the revisions no open snapshot or read can see anymore.
+     * Only the newest revision that is not newer than the
+     * oldest version being read has to be kept.
+     *
+     * @return the number of revisions that are kept
+     */
+    private int prune(Revision<T> head) {
+        long oldestVersion = getOldestReadVersion();
+        var revision = head;
+        int kept = 1;
+
+        while (revision.previous != null && revision.version > oldestVersion) {
+            revision = revision.previous;
+            kept++;
+        }
+
+        revision.previous = null;
+        return kept;
+    }
+
+    /**
+     * Removes the vertices whose removal every snapshot and read can see,
+     * unless they have been added again since.
+     */
+    private void dropTombstones() {
+        long oldestVersion = getOldestReadVersion();
+
+        while (!tombstones.isEmpty() && tombstones.peek().revision().version <= oldestVersion) {
+            var tombstone = tombstones.poll();
+            revisions.remove(tombstone.vertex(), tombstone.revision());
+        }
+    }
+
+    private long getOldestReadVersion() {
+        var oldest = readVersions.firstEntry();
+        return (oldest == null) ? version : Math.min(oldest.getKey(), version);
+    }
+
+    /**
+     * Registers the current version for a read, which must be released afterward.
+     * The version is only returned once it is still current after the
+     * registration, as no modification can have pruned it by then.
+     */
+    private long acquireCurrentVersion() {
+        while (true) {
+            long readVersion = version;
+            readVersions.merge(readVersion, 1, Integer::sum);
+
+            if (version == readVersion) {
+                return readVersion;
+            }
+
+            releaseVersion(readVersion);
+        }
+    }
+
+    private void releaseVersion(long readVersion) {
+        readVersions.computeIfPresent(readVersion, (_, count) -> (count == 1) ? null : count - 1);
+    }
+
+    private <R> R readCurrentVersion(LongFunction<R> read) {
+        long readVersion = acquireCurrentVersion();
+
+        try {
+            return read.apply(readVersion);
+        } finally {
+            releaseVersion(readVersion);
+        }
+    }
+
+    /**
+     * Takes a point-in-time snapshot in O(1).
+     * The snapshot should be closed once it isn't needed anymore,
+     * so the revisions it depends on can be released.
+     *
+     * @return a read-only view of the graph at the current version
+     */
+    @Override
+    public Snapshot snapshot() {
+        writeLock.lock();
+
+        try {
+            readVersions.merge(version, 1, Integer::sum);
+            return new Snapshot(version);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the adjacency Map of the vertex at the version,
+     * or null if it didn't exist then
+     */
+    private Map<T, Double> neighborsAt(T vertex, long readVersion) {
+        var revision = revisions.get(vertex);
+
+        while (revision != null && revision.version > readVersion) {
+            revision = revision.previous;
+        }
+
+        return (revision == null) ? null : revision.neighbors;
+    }
+
+    private Map<T, Map<T, Double>> adjacenciesAt(long readVersion) {
+        var adjacencies = new HashMap<T, Map<T, Double>>();
+
+        for (var vertex : revisions.keySet()) {
+            var neighbors = neighborsAt(vertex, readVersion);
+
+            if (neighbors != null) {
+                adjacencies.put(vertex, neighbors);
+            }
+        }
+
+        return adjacencies;
+    }
+
+    @Override
+    public Map<T, Double> getNeighbors(T vertex) {
+        var neighbors = readCurrentVersion(readVersion -> neighborsAt(vertex, readVersion));
+        return (neighbors == null) ? Collections.emptyMap() : neighbors;
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+        getNeighbors(vertex).forEach(action::accept);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        int count = getAdjacencies().values()
+                .stream()
+                .mapToInt(Map::size)
+                .sum();
+
+        return (directed) ? count : count / 2;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return getVertices().size();
+    }
+
+    @Override
+    public boolean hasVertex(T vertex) {
+        return readCurrentVersion(readVersion -> neighborsAt(vertex, readVersion)) != null;
+    }
+
+    @Override
+    public double calculateAverageDegree() {
+        return getAdjacencies().values()
+                .stream()
+                .mapToInt(Map::size)
+                .average()
+                .orElse(0);
+    }
+
+    /**
+     * @return a consistent copy of the current adjacencies
+     */
+    @Override
+    public Map<T, Map<T, Double>> getAdjacencies() {
+        return readCurrentVersion(this::adjacenciesAt);
+    }
+
+    /**
+     * @return a consistent copy of the current vertices
+     */
+    @Override
+    public Set<T> getVertices() {
+        return getAdjacencies().keySet();
+    }
+
+    /**
+     * A read-only view of the graph at the version it was taken at.
+     */
+    public final class Snapshot implements Graph<T>, AutoCloseable {
+
+        @Getter
+        private final long version;
+
+        private boolean closed;
+
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        @Override
+        public Map<T, Double> getNeighbors(T vertex) {
+            var neighbors = neighborsAt(vertex, version);
+            return (neighbors == null) ? Collections.emptyMap() : neighbors;
+        }
+
+        @Override
+        public void forEachNeighbor(T vertex, ObjDoubleConsumer<T> action) {
+            getNeighbors(vertex).forEach(action::accept);
+        }
+
+        /**
+         * @return a copy of all the vertices and their adjacencies at this version
+         */
+        public Map<T, Map<T, Double>> getAdjacencies() {
+            return adjacenciesAt(version);
+        }
+
+        /**
+         * Releases the revisions only this snapshot depends on.
+         * The snapshot must not be used afterward.
+         */
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                releaseVersion(version);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package pathfinding.service;
+
+import lombok.Getter;
+import pathfinding.datastructures.AddressableHeap;
+import pathfinding.datastructures.FibonacciHeap;
+import pathfinding.graphs.Graph;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * The shortest distances, and optionally the shortest paths,
+ * from every source to every target of a graph.
+ * <p>
+ * Instead of searching every pair separately, a {@link ShortestPathTree}
+ * is grown from every source until all targets have been settled,
+ * which answers the whole row at once. The rows are computed in
+ * parallel, so the graph is read by many threads at once,
+ * see {@link Graph}.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class DistanceMatrix<T> {
+
+    @Getter
+    private final List<T> sources;
+    @Getter
+    private final List<T> targets;
+
+    // the distance from source i to target j at [i * targets.size() + j]
+    private final double[] distances;
+
+    // the paths in the same order as the distances, or null if they were not requested
+    private final List<List<T>> paths;
+
+    private DistanceMatrix(List<T> sources, List<T> targets, boolean withPaths) {
+        this.sources = List.copyOf(sources);
+        this.targets = List.copyOf(targets);
+        this.distances = new double[sources.size() * targets.size()];
+        this.paths = (withPaths) ? new ArrayList<>(Collections.nCopies(distances.length, null)) : null;
+    }
+
+    /**
+     * Computes the distances without the paths.
+     */
+    public static <T> DistanceMatrix<T> of(Graph<T> graph, List<T> sources, List<T> targets) {
+        return of(graph, sources, targets, false);
+    }
+
+    public static <T> DistanceMatrix<T> of(Graph<T> graph, List<T> sources, List<T> targets, boolean withPaths) {
+        return of(graph, sources, targets, withPaths, FibonacciHeap::new);
+    }
+
+    /**
+     * @param graph       the graph to search in
+     * @param sources     the vertices the paths start at, i.e. the rows
+     * @param targets     the vertices the paths end at, i.e. the columns
+     * @param withPaths   whether the paths should be kept, too
+     * @param openFactory creates the open list of every search
+     * @return the matrix of all sources and targets
+     */
+    public static <T> DistanceMatrix<T> of(Graph<T> graph,
+                                           List<T> sources,
+                                           List<T> targets,
+                                           boolean withPaths,
+                                           Supplier<? extends AddressableHeap<T>> openFactory) {
+        var matrix = new DistanceMatrix<>(sources, targets, withPaths);
+
+        IntStream.range(0, sources.size())
+                .parallel()
+                .forEach(row -> matrix.computeRow(row, graph, openFactory));
+
+        return matrix;
+    }
+
+    /**
+     * @return the length of the shortest path from the source
+     * to the target, or {@link Double#POSITIVE_INFINITY} if there is none
+     */
+    public double getDistance(int sourceIndex, int targetIndex) {
+        return distances[indexOf(sourceIndex, targetIndex)];
+    }
+
+    /**
+     * @return the shortest path from the source to
+     * the target, or an empty list if there is none
+     * @throws IllegalStateException if the paths were not requested
+     */
+    public List<T> getPath(int sourceIndex, int targetIndex) {
+        if (paths == null) {
+            throw new IllegalStateException("The paths were not computed.");
+        }
+
+        return paths.get(indexOf(sourceIndex, targetIndex));
+    }
+
+    public boolean hasPaths() {
+        return paths != null;
+    }
+
+    private int indexOf(int sourceIndex, int targetIndex) {
+        Objects.checkIndex(sourceIndex, sources.size());
+        Objects.checkIndex(targetIndex, targets.size());
+        return sourceIndex * targets.size() + targetIndex;
+    }
+
+    /**
+     * Grows the shortest path tree of the source until
+     * every target has been settled, and fills the row from it.
+     */
+    private void computeRow(int row,
+                            Graph<T> graph,
+                            Supplier<? extends AddressableHeap<T>> openFactory) {
+        var tree = ShortestPathTree.dijkstra(graph, sources.get(row), targets, openFactory);
+
+        for (int column = 0; column < targets.size(); column++) {
+            T target = targets.get(column);
+            int index = row * targets.size() + column;
+            distances[index] = tree.getDistance(target);
+
+            if (paths != null) {
+                paths.set(index, tree.getPath(target));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package pathfinding.service;
+
+import lombok.AllArgsConstructor;
+
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+
+/**
+ * Utility class to specify the end condition of a primitive search algorithm.
+ * It can be either a specific vertex id or a condition that the id must satisfy.
+ * <p>
+ * This is the primitive counterpart of {@link EndCondition}.
+ */
+@AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class IntEndCondition {
+
+    private static final int NO_VERTEX = -1;
+
+    private final int vertex;
+    private final IntPredicate condition;
+
+    public static IntEndCondition endAt(int vertex) {
+        return new IntEndCondition(vertex, id -> id == vertex);
+    }
+
+    public static IntEndCondition endIf(IntPredicate condition) {
+        return new IntEndCondition(NO_VERTEX, condition);
+    }
+
+    public OptionalInt vertex() {
+        return (vertex == NO_VERTEX) ? OptionalInt.empty() : OptionalInt.of(vertex);
+    }
+
+    public IntPredicate condition() {
+        return condition;
+    }
+
+}
@@ -14,14 +14,19 @@ import java.util.List;
  * Also, the type T only has to be specified once,
  * as the objects not specifying it
  * can infer it from the object that specified it.
+ * <p>
+ * A single pathfinder can serve many threads at once, as the algorithms
+ * keep the state of a search per thread. The graph is read by many
+ * threads at once then, see {@link Graph}. To get the statistics of
+ * a search on a shared pathfinder, use the methods returning a {@link SearchResult}.
  */
 @AllArgsConstructor
 @Getter
 @Setter
 public class Pathfinder<T> {
 
-    private Graph<T> graph;
-    private PathfindingAlgorithm<T> algorithm;
+    private volatile Graph<T> graph;
+    private volatile PathfindingAlgorithm<T> algorithm;
 
     public List<T> findAnyPath(T start,
                                EndCondition<T> endCondition) {
@@ -33,4 +38,22 @@ public class Pathfinder<T> {
         return algorithm.findShortestPath(start, endCondition, graph);
     }
 
+    public SearchResult<T> findAnyPathWithStatistics(T start,
+                                                     EndCondition<T> endCondition) {
+        return algorithm.findAnyPathWithStatistics(start, endCondition, graph);
+    }
+
+    public SearchResult<T> findShortestPathWithStatistics(T start,
+                                                          EndCondition<T> endCondition) {
+        return algorithm.findShortestPathWithStatistics(start, endCondition, graph);
+    }
+
+    /**
+     * Searches the whole graph from the source with Dijkstra, regardless of
+     * the algorithm, so the tree can answer any number of queries from it.
+     */
+    public ShortestPathTree<T> findShortestPathTree(T source) {
+        return ShortestPathTree.dijkstra(graph, source);
+    }
+
 }
@@ -0,0 +1,19 @@
+package pathfinding.service;
+
+import java.util.List;
+
+/**
+ * The path found by a single search together with its statistics,
+ * so they can't be mixed up with the ones of a concurrent search.
+ *
+ * @param path               the path found, or an empty list if there is none
+ * @param visitedVertexCount the number of vertices visited by the search
+ * @param <T>                the type of the vertices in the graph
+ */
+public record SearchResult<T>(List<T> path, int visitedVertexCount) {
+
+    public boolean isFound() {
+        return !path.isEmpty();
+    }
+
+}
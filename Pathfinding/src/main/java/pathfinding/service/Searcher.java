@@ -21,11 +21,15 @@ import java.util.List;
 @Setter
 public class Searcher<T> {
 
-    private Graph<T> graph;
-    private SearchAlgorithm<T> algorithm;
+    private volatile Graph<T> graph;
+    private volatile SearchAlgorithm<T> algorithm;
 
     public List<T> findAnyPath(T start, EndCondition<T> endCondition) {
         return algorithm.findAnyPath(start, endCondition, graph);
     }
 
+    public SearchResult<T> findAnyPathWithStatistics(T start, EndCondition<T> endCondition) {
+        return algorithm.findAnyPathWithStatistics(start, endCondition, graph);
+    }
+
 }
@@ -0,0 +1,175 @@
+package pathfinding.service;
+
+import lombok.Getter;
+import pathfinding.datastructures.AddressableHeap;
+import pathfinding.datastructures.FibonacciHeap;
+import pathfinding.graphs.Graph;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * The shortest paths from one source to all the vertices it can reach.
+ * <p>
+ * The tree is computed by a single search, after which the distance
+ * to any vertex is a lookup and its path is traced along the predecessors
+ * in time linear in its length. This pays off as soon as more than
+ * one question is asked about the same source, e.g. a depot.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public final class ShortestPathTree<T> {
+
+    @Getter
+    private final T source;
+
+    // only the settled vertices, whose distances are final
+    private final Map<T, Double> distances;
+    private final Map<T, T> predecessors;
+
+    private ShortestPathTree(T source, Map<T, Double> distances, Map<T, T> predecessors) {
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Runs Dijkstra from the source until every reachable vertex is settled.
+     */
+    public static <T> ShortestPathTree<T> dijkstra(Graph<T> graph, T source) {
+        return dijkstra(graph, source, null, FibonacciHeap::new);
+    }
+
+    /**
+     * Runs Dijkstra from the source until every target is settled, so the
+     * tree is only complete for the targets and the vertices closer than them.
+     * The search keeps its own maps instead of using a
+     * {@link pathfinding.algorithms.Dijkstra}, so no state of
+     * a search is held by the tree or left behind on the thread.
+     *
+     * @param graph       the graph to search in
+     * @param source      the root of the tree
+     * @param targets     the vertices that have to be settled,
+     *                    or null to settle every reachable vertex
+     * @param openFactory creates the open list of the search
+     * @return the tree of the settled vertices
+     */
+    public static <T> ShortestPathTree<T> dijkstra(Graph<T> graph,
+                                                   T source,
+                                                   Collection<T> targets,
+                                                   Supplier<? extends AddressableHeap<T>> openFactory) {
+        var open = openFactory.get();
+        var openEntries = new HashMap<T, AddressableHeap.Handle<T>>();
+        var remaining = (targets == null) ? null : new HashSet<>(targets);
+        var distances = new HashMap<T, Double>();
+        var predecessors = new HashMap<T, T>();
+        openEntries.put(source, open.enqueue(source, 0.0));
+
+        while ((remaining == null || !remaining.isEmpty()) && !open.isEmpty()) {
+            var entry = open.dequeueMin();
+            T current = entry.getValue();
+            double distance = entry.getPriority();
+            openEntries.remove(current);
+            distances.put(current, distance);
+
+            if (remaining != null && remaining.remove(current) && remaining.isEmpty()) {
+                break;
+            }
+
+            graph.forEachNeighbor(current, (neighbor, weight) -> {
+                if (distances.containsKey(neighbor)) {
+                    return;
+                }
+
+                double tentative = distance + weight;
+                var openEntry = openEntries.get(neighbor);
+
+                if (openEntry == null) {
+                    openEntries.put(neighbor, open.enqueue(neighbor, tentative));
+                } else if (tentative < openEntry.getPriority()) {
+                    open.decreaseKey(openEntry, tentative);
+                } else {
+                    return;
+                }
+
+                predecessors.put(neighbor, current);
+            });
+        }
+
+        predecessors.keySet().retainAll(distances.keySet());
+        return new ShortestPathTree<>(source, distances, predecessors);
+    }
+
+    /**
+     * Runs a breadth-first search from the source through the whole graph.
+     * The distances are the numbers of edges, the weights are ignored.
+     */
+    public static <T> ShortestPathTree<T> breadthFirst(Graph<T> graph, T source) {
+        var distances = new HashMap<T, Double>();
+        var predecessors = new HashMap<T, T>();
+        var queue = new ArrayDeque<T>();
+        distances.put(source, 0.0);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            T current = queue.poll();
+            double distance = distances.get(current) + 1;
+
+            graph.forEachNeighbor(current, (neighbor, _) -> {
+                if (distances.putIfAbsent(neighbor, distance) == null) {
+                    predecessors.put(neighbor, current);
+                    queue.add(neighbor);
+                }
+            });
+        }
+
+        return new ShortestPathTree<>(source, distances, predecessors);
+    }
+
+    public boolean isReachable(T target) {
+        return distances.containsKey(target);
+    }
+
+    /**
+     * @return the length of the shortest path from the source to the target,
+     * or {@link Double#POSITIVE_INFINITY} if the target has not been reached
+     */
+    public double getDistance(T target) {
+        return distances.getOrDefault(target, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @return the shortest path from the source to the
+     * target, or an empty list if it has not been reached
+     */
+    public List<T> getPath(T target) {
+        if (!isReachable(target)) {
+            return Collections.emptyList();
+        }
+
+        var path = new ArrayList<T>();
+
+        for (var current = target; !current.equals(source); current = predecessors.get(current)) {
+            path.add(current);
+        }
+
+        path.add(source);
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return the number of vertices in the tree, including the source
+     */
+    public int size() {
+        return distances.size();
+    }
+
+    /**
+     * @return an unmodifiable view of the vertices in the tree
+     */
+    public Set<T> getVertices() {
+        return Collections.unmodifiableSet(distances.keySet());
+    }
+
+}